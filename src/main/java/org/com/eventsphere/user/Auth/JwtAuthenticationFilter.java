@@ -1,6 +1,7 @@
 package org.com.eventsphere.user.Auth;
 
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,9 +9,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.com.eventsphere.user.exception.UserNotFoundException;
+import org.com.eventsphere.user.security.TokenPrincipal;
+import org.com.eventsphere.user.security.TokenVersionRegistry;
+import org.com.eventsphere.user.security.VerifiedClaims;
 import org.com.eventsphere.user.service.JwtService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -33,7 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
+    // When enabled, tokens carrying userId, role and version claims are trusted without a database lookup.
+    @Value("${jwt.stateless-auth:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -42,22 +51,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final VerifiedClaims claims;
         // 1. Check if the request has an Authorization header and if it starts with "Bearer ".
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             // 2. Extract the JWT from the header (it's the part after "Bearer ").
             jwt = authorizationHeader.substring(7);
 
-            // 3. Extract the username (email) from the JWT using the JwtService.
-            userEmail = jwtService.extractUsername(jwt);
+            // 3. Parse and verify the JWT once. Expired, malformed or tampered tokens are rejected here.
+            try {
+                claims = jwtService.verifyToken(jwt);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("JWT authentication failed: {}", e.getMessage());
+                filterChain.doFilter(request, response);
+                return;
+            }
+            final String userEmail = claims.subject();
             // 4. Check if the user is not already authenticated for this request.
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 try {
-                    // 5. Load the user details from the database or another source.
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                    // 5. Build the principal from the claims in stateless mode, otherwise load the user details from the database.
+                    UserDetails userDetails = isSelfContained(claims)
+                            ? principalFromClaims(claims)
+                            : userDetailsService.loadUserByUsername(userEmail);
 
-                    // 6. Validate the JWT against the user details.
-                    if (jwtService.isTokenValid(jwt, userDetails)) {
+                    // 6. Validate the verified claims against the user details.
+                    if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                         // 7. If the token is valid, create an authentication token and set it in the security context.
                         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -78,4 +96,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 10. Pass the request along the filter chain.
         filterChain.doFilter(request, response);
     }
+
+    private boolean isSelfContained(VerifiedClaims claims) {
+        return statelessAuth
+                && claims.userId() != null
+                && claims.role() != null
+                && claims.tokenVersion() != null;
+    }
+
+    /**
+     * Builds the principal straight from the token, or returns null if the token has been revoked.
+     */
+    private UserDetails principalFromClaims(VerifiedClaims claims) {
+        if (!tokenVersionRegistry.isCurrent(claims.userId(), claims.tokenVersion())) {
+            log.debug("JWT authentication failed: Token version {} for user {} has been revoked", claims.tokenVersion(), claims.userId());
+            return null;
+        }
+        return TokenPrincipal.from(claims);
+    }
 }
@@ -1,5 +1,7 @@
 package org.com.eventsphere.user.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.eventsphere.user.service.PooledMailSender;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,9 +19,22 @@ public class MailConfig {
     @Value("${EMAIL_PASSWORD}")
     private String emailPassword;
 
+    @Value("${mail.pool.max-connections:4}")
+    private int maxConnections;
+    @Value("${mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+    @Value("${mail.pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+    @Value("${mail.pool.validate-after-idle-ms:5000}")
+    private long validateAfterIdleMs;
+    @Value("${mail.pool.borrow-timeout-ms:10000}")
+    private long borrowTimeoutMs;
+
     @Bean
-    public JavaMailSender javaMailSender() {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    public JavaMailSender javaMailSender(MeterRegistry meterRegistry) {
+        // Keeps authenticated SMTP connections open between sends.
+        JavaMailSenderImpl mailSender = new PooledMailSender(maxConnections, maxMessagesPerConnection,
+                idleTimeoutMs, validateAfterIdleMs, borrowTimeoutMs, meterRegistry);
         mailSender.setHost("smtp.gmail.com");
         mailSender.setPort(587);
         mailSender.setUsername(emailUsername);
@@ -1,54 +1,97 @@
 package org.com.eventsphere.user.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.com.eventsphere.user.Auth.JwtAuthenticationFilter;
 import org.com.eventsphere.user.exception.UserNotFoundException;
 import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.security.BoundedPasswordEncoder;
+import org.com.eventsphere.user.security.CalibratedBCryptPasswordEncoder;
+import org.com.eventsphere.user.security.OwnerOrAdminAuthorizationManager;
+import org.com.eventsphere.user.security.UserDetailsCache;
+import org.com.eventsphere.user.security.UserPasswordUpgradeService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 /**
  * SecurityConfig
  * This class is the central point for configuring all security aspects of the application.
  */
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     // Dependencies injected by Spring
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final OwnerOrAdminAuthorizationManager ownerOrAdminAuthorizationManager;
+    private final MeterRegistry meterRegistry;
+    private final UserPasswordUpgradeService userPasswordUpgradeService;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private long passwordHashingRetryAfterSeconds;
+    @Value("${security.password-hashing.strength:0}")
+    private int passwordHashingStrength;
+    @Value("${security.password-hashing.target-millis:50}")
+    private long passwordHashingTargetMillis;
+    @Value("${security.password-hashing.min-strength:10}")
+    private int passwordHashingMinStrength;
+    @Value("${security.password-hashing.max-strength:14}")
+    private int passwordHashingMaxStrength;
     // REMOVED: The filter is no longer injected in the constructor to break the circular dependency.
     // private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     /**
      * The Detective: Tells Spring Security how to find a user in the database.
+     * Users are kept in the UserDetailsCache, so repeat lookups don't reach the database.
      */
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + username));
+        return username -> userDetailsCache.get(username, email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email)));
     }
 
     /**
      * The Digital Locker: Provides the tool for securely hashing and checking passwords.
+     * The BCrypt work factor is calibrated to this host unless one is configured, and new hashes are stored
+     * as "{bcrypt}..." so older, unprefixed hashes are recognised and upgraded on login.
+     * BCrypt work runs on its own bounded pool so a login storm cannot starve the request threads.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        CalibratedBCryptPasswordEncoder bcrypt = passwordHashingStrength > 0
+                ? new CalibratedBCryptPasswordEncoder(passwordHashingStrength)
+                : CalibratedBCryptPasswordEncoder.calibrate(passwordHashingTargetMillis, passwordHashingMinStrength, passwordHashingMaxStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, passwordHashingQueueCapacity,
+                passwordHashingRetryAfterSeconds, meterRegistry);
     }
 
     /**
@@ -59,6 +102,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash the stored password on login whenever the encoder settings have changed.
+        authProvider.setUserDetailsPasswordService(userPasswordUpgradeService);
         return authProvider;
     }
 
@@ -79,10 +124,19 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Rule: No CSRF protection needed for our stateless API
                 .authorizeHttpRequests(auth -> auth
+                        // Rule: Token introspection reveals token validity and claims, so only services (RFC 7662) and admins may call it.
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/introspect").hasAnyRole("SERVICE", "ADMIN")
                         // Rule: The main entrance (/register, /login, etc.) is open to the public.
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        // Rule: The public signing keys are published for other services to verify tokens.
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         // Rule: Only people with an 'ADMIN' ID card can enter the server room (/users/all).
                         .requestMatchers("/api/v1/users/all").hasRole("ADMIN")
+                        // Rule: Administrative tools live under /admin and are for admins only.
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        // Rule: Only the owner of a profile, or an admin, may change or delete it.
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/users/update/{id}").access(ownerOrAdminAuthorizationManager)
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/users/delete/{id}").access(ownerOrAdminAuthorizationManager)
                         // Rule: To access any other endpoint, you must have a valid ID card (be logged in).
                         .anyRequest().authenticated()
                 )
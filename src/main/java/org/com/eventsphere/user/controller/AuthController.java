@@ -1,5 +1,6 @@
 package org.com.eventsphere.user.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.com.eventsphere.user.dto.*;
@@ -7,6 +8,7 @@ import org.com.eventsphere.user.entity.RefreshToken;
 import org.com.eventsphere.user.exception.TokenRefreshException;
 import org.com.eventsphere.user.service.JwtService;
 import org.com.eventsphere.user.service.RefreshTokenService;
+import org.com.eventsphere.user.service.TokenIntrospectionService;
 import org.com.eventsphere.user.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +21,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -28,6 +32,7 @@ public class AuthController {
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
     private final JwtService jwtService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     @PostMapping("/register")
     public ResponseEntity<UserResponse> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
@@ -37,9 +42,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> loginUser(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthenticationResponse> loginUser(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Received login request for user: {}", request.getEmail());
-        AuthenticationResponse authenticationResponse = userService.loginUser(request);
+        AuthenticationResponse authenticationResponse = userService.loginUser(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(authenticationResponse);
     }
 
@@ -75,6 +80,17 @@ public class AuthController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Reports the status and claims of up to TokenIntrospectionRequest.MAX_TOKENS access or refresh tokens
+     * in one round trip, for services that cannot verify tokens locally.
+     * Callers must authenticate with an access token of a SERVICE or ADMIN account; see SecurityConfig.
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<List<TokenIntrospectionResult>> introspectTokens(@Valid @RequestBody TokenIntrospectionRequest request) {
+        log.info("Received introspection request for {} token(s)", request.getTokens().size());
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getTokens()));
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logoutUser(@Valid @RequestBody RefreshTokenRequest request) {
         log.info("Received logout request");
@@ -0,0 +1,42 @@
+package org.com.eventsphere.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.service.SigningKeyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * JwksController
+ * Publishes the public JWT signing keys so other EventSphere services can verify access tokens locally.
+ * Responses carry an ETag and a Cache-Control max-age, so clients only download the set again after a rotation.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyService signingKeyService;
+
+    @Value("${jwt.keys.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJsonWebKeySet(WebRequest request) {
+        SigningKeyService.JsonWebKeySet jwks = signingKeyService.getJsonWebKeySet();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwksMaxAgeSeconds)).cachePublic();
+        if (request.checkNotModified(jwks.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(jwks.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(jwks.etag())
+                .body(jwks.body());
+    }
+}
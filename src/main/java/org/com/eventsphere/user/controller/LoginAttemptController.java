@@ -0,0 +1,52 @@
+package org.com.eventsphere.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.dto.CursorPage;
+import org.com.eventsphere.user.dto.LoginAttemptResponse;
+import org.com.eventsphere.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * LoginAttemptController
+ * Lets administrators page through the login history of an account, newest first.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/login-attempts")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class LoginAttemptController {
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptController.class);
+
+    private final UserService userService;
+
+    /**
+     * GET /api/v1/admin/login-attempts?email=...
+     * Returns one page of attempts. Pass the returned nextCursor as cursor to get the next page.
+     *
+     * @param from Optional inclusive lower bound on the attempt time.
+     * @param to Optional exclusive upper bound on the attempt time.
+     * @param successful Optional filter on the outcome.
+     * @param limit Page size, capped at UserService.MAX_PAGE_SIZE.
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<LoginAttemptResponse>> getLoginAttempts(
+            @RequestParam String email,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Boolean successful,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request for login attempts of email: {}", email);
+        return ResponseEntity.ok(userService.getLoginAttempts(email, from, to, successful, cursor, limit));
+    }
+}
@@ -0,0 +1,47 @@
+package org.com.eventsphere.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.dto.LoginLockoutResponse;
+import org.com.eventsphere.user.security.LoginThrottle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * LoginThrottleController
+ * Lets administrators see which emails and client IPs are locked out by the LoginThrottle, and lift a lockout.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/login-throttle")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class LoginThrottleController {
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottleController.class);
+
+    private final LoginThrottle loginThrottle;
+
+    @GetMapping
+    public ResponseEntity<List<LoginLockoutResponse>> getLockouts() {
+        log.info("Admin request to list login lockouts");
+        return ResponseEntity.ok(loginThrottle.getLockouts());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<String> clearLockout(@RequestParam(required = false) String email,
+                                               @RequestParam(required = false) String ip) {
+        if (email == null && ip == null) {
+            return ResponseEntity.badRequest().body("Provide an email or an ip to clear");
+        }
+        log.info("Admin request to clear login lockout for email: {}, ip: {}", email, ip);
+        boolean cleared = (email != null && loginThrottle.clearEmail(email)) | (ip != null && loginThrottle.clearIp(ip));
+        return ResponseEntity.ok(cleared ? "Lockout cleared" : "No failed logins recorded");
+    }
+}
@@ -6,15 +6,21 @@ import org.com.eventsphere.user.dto.ChangePasswordRequest;
 import org.com.eventsphere.user.dto.RoleAssignmentRequest;
 import org.com.eventsphere.user.dto.UserProfileUpdateRequest;
 import org.com.eventsphere.user.dto.UserResponse;
+import org.com.eventsphere.user.service.UserExportService;
 import org.com.eventsphere.user.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,9 +36,10 @@ import java.util.List;
 public class UserController {
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final UserExportService userExportService;
     /**
      * GET /api/v1/users
-     * Fetches a list of all users.
+     * Fetches a list of all users. Use /export for large user bases; this builds the whole list in memory.
      *
      * @return A ResponseEntity containing a list of UserResponse DTOs and HTTP status 200 (OK).
      */
@@ -44,6 +51,27 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * GET /api/v1/users/export?format=ndjson|csv
+     * Streams all users to the client as they are read from the database, so memory use stays flat
+     * however many users there are.
+     *
+     * @param format ndjson (the default) or csv.
+     * @return A ResponseEntity whose body is written after this method returns.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat = UserExportService.Format.parse(format);
+        log.info("Exporting all users as {}.", exportFormat);
+        String filename = "users-" + LocalDate.now() + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> userExportService.export(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * GET /api/v1/users/{id}
      * Fetches a user by their unique ID.
@@ -60,8 +88,8 @@ public class UserController {
         return ResponseEntity.ok(userResponse);
     }
 
+    // Ownership is enforced by OwnerOrAdminAuthorizationManager in SecurityConfig.
     @PutMapping("/update/{id}")
-    @PreAuthorize("hasRole('ADMIN') or #id == @userSecurity.getUserId(authentication.principal)")
     public ResponseEntity<UserResponse> updateUserProfile(@PathVariable Long id, @RequestBody UserProfileUpdateRequest request){
         log.info("Received request to update user profile: {}", request);
         UserResponse updatedUser = userService.updateUserProfile(id, request);
@@ -76,8 +104,8 @@ public class UserController {
     }
 
 
+    // Ownership is enforced by OwnerOrAdminAuthorizationManager in SecurityConfig.
     @DeleteMapping("/delete/{id}")
-    @PreAuthorize("hasRole('ADMIN') or #id == @userSecurity.getUserId(authentication.principal)")
     public ResponseEntity<String> deleteUser(@PathVariable Long id) {
         log.info("Received request to delete user profile: {}", id);
         userService.deleteUser(id);
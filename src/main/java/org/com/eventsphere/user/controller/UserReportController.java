@@ -0,0 +1,97 @@
+package org.com.eventsphere.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.dto.CursorPage;
+import org.com.eventsphere.user.dto.UserResponse;
+import org.com.eventsphere.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * UserReportController
+ * Lets administrators page through users by role, activity and registration date.
+ * Every endpoint returns one page; pass the returned nextCursor as cursor to get the next page.
+ * The limit parameter is the page size, capped at UserService.MAX_PAGE_SIZE.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserReportController {
+    private static final Logger log = LoggerFactory.getLogger(UserReportController.class);
+
+    private final UserService userService;
+
+    /**
+     * GET /api/v1/admin/users/by-role?role=ADMIN
+     */
+    @GetMapping("/by-role")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersByRole(
+            @RequestParam String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request for users with role: {}", role);
+        return ResponseEntity.ok(userService.getUsersByRole(role, cursor, limit));
+    }
+
+    /**
+     * GET /api/v1/admin/users/search?query=...
+     * Matches the query anywhere in the first name, last name or email, ignoring case.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<UserResponse>> searchUsers(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request to search users with query: {}", query);
+        return ResponseEntity.ok(userService.searchUsers(query, cursor, limit));
+    }
+
+    /**
+     * GET /api/v1/admin/users/inactive
+     */
+    @GetMapping("/inactive")
+    public ResponseEntity<CursorPage<UserResponse>> getInactiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request for inactive users");
+        return ResponseEntity.ok(userService.getInactiveUsers(cursor, limit));
+    }
+
+    /**
+     * GET /api/v1/admin/users/registered?from=2025-01-01&to=2025-01-31
+     * Both dates are inclusive. Users come oldest registration first.
+     */
+    @GetMapping("/registered")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersRegisteredBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request for users registered between {} and {}", from, to);
+        return ResponseEntity.ok(userService.getUsersRegisteredBetween(from, to, cursor, limit));
+    }
+
+    /**
+     * GET /api/v1/admin/users/last-active-before?before=2025-01-01T00:00:00
+     * Users come least recently active first.
+     */
+    @GetMapping("/last-active-before")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersLastActiveBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Admin request for users last active before {}", before);
+        return ResponseEntity.ok(userService.getUsersLastActiveBefore(before, cursor, limit));
+    }
+}
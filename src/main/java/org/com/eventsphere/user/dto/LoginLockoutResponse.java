@@ -0,0 +1,16 @@
+package org.com.eventsphere.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginLockoutResponse {
+    // Either "email" or "ip".
+    private String type;
+    private String key;
+    private int failures;
+    private long retryAfterSeconds;
+}
@@ -2,6 +2,7 @@ package org.com.eventsphere.user.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,7 @@ public class LoginRequest {
     private String email;
     @NotBlank(message = "Password cannot be blank")
     private String password;
+    // Optional. Identifies the client device so that logging in again replaces that device's session.
+    @Size(max = 128, message = "Device ID cannot be longer than 128 characters")
+    private String deviceId;
 }
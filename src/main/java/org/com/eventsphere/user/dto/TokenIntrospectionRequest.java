@@ -0,0 +1,21 @@
+package org.com.eventsphere.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenIntrospectionRequest {
+    public static final int MAX_TOKENS = 100;
+
+    @NotEmpty(message = "At least one token must be provided")
+    @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens can be introspected per request")
+    private List<@NotBlank(message = "Token must not be blank") String> tokens;
+}
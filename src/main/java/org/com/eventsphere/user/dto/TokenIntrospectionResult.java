@@ -0,0 +1,42 @@
+package org.com.eventsphere.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The introspection outcome of a single token. Results are returned in the same order as the requested tokens.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResult {
+    private TokenType tokenType;
+    private Status status;
+    private Long userId;
+    private String email;
+    private String roles;
+    private Instant expiresAt;
+
+    public boolean isActive() {
+        return status == Status.ACTIVE;
+    }
+
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+
+    public enum Status {
+        ACTIVE,
+        EXPIRED,
+        // The token was revoked, or it is a refresh token this service does not know (e.g. after logout).
+        REVOKED,
+        // The token is malformed or its signature does not verify.
+        INVALID
+    }
+}
@@ -0,0 +1,71 @@
+package org.com.eventsphere.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An email waiting to be delivered. Rows are written in the same transaction as the change that triggers the
+ * email, delivered after commit, and deleted once sent. A message that keeps failing is retried with backoff
+ * until it is dead-lettered, i.e. left in the table with status DEAD for an operator to look at.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type type;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    // The verification or password reset token the email links to.
+    @Column(nullable = false, length = 512)
+    private String token;
+
+    // BCP 47 language tag of the request that queued the email, used to pick the template variant.
+    @Column(length = 35)
+    private String locale;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Also used as a lease: a worker that picks the message up pushes it forward while it sends.
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum Type {
+        VERIFICATION,
+        PASSWORD_RESET
+    }
+
+    public enum Status {
+        PENDING,
+        DEAD
+    }
+}
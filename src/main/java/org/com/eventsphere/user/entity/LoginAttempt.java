@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
 
 import java.time.LocalDateTime;
 
@@ -13,12 +14,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Immutable
+// The table is range-partitioned on timestamp by LoginAttemptPartitionManager, which is why the primary key
+// in the database is (id, timestamp) and ids come from the login_attempts_seq sequence.
+// Rows are only inserted by LoginAttemptJournal, with plain JDBC; through JPA this entity is read-only.
+// id alone is unique because every row takes it from the sequence, so it is still mapped as the @Id.
 @Table(name = "login_attempts", indexes = {
-        @Index(name = "idx_login_attempt_email", columnList = "email")
+        @Index(name = "idx_login_attempt_email_timestamp_id", columnList = "email, timestamp DESC, id DESC")
 })
 public class LoginAttempt {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "login_attempts_seq")
+    @SequenceGenerator(name = "login_attempts_seq", sequenceName = "login_attempts_seq", allocationSize = 1)
     private Long id;
     @Column(nullable = false)
     private String email;
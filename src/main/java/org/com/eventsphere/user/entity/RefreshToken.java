@@ -5,12 +5,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
 
+/**
+ * A refresh token belonging to one session of a user. A user can have many sessions, one per device.
+ * When tokens rotate on use, every token issued within a session shares the session's familyId, and a used
+ * token is kept with rotatedAt set until it expires, so that presenting it again can be detected as reuse.
+ */
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_token", columnList = "token", unique = true)
+        @Index(name = "idx_token", columnList = "token", unique = true),
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_token_expiry", columnList = "expiryDate")
 })
 @Data
 @AllArgsConstructor
@@ -27,7 +36,24 @@ public class RefreshToken {
     @Column(nullable = false)
     private Instant expiryDate;
 
-    @OneToOne(fetch = FetchType.LAZY)
+    // The default gives rows from before sessions existed a family of their own.
+    @Column(nullable = false, length = 36)
+    @ColumnDefault("gen_random_uuid()::text")
+    private String familyId;
+
+    // Optional client-supplied device identifier; logging in again on the same device replaces its session.
+    @Column(length = 128)
+    private String deviceId;
+
+    // When this token was issued, i.e. when the session was last used. Drives LRU eviction of sessions.
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private Instant issuedAt;
+
+    // Set once the token has been exchanged for a new one.
+    private Instant rotatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_refreshtoken_user"))
     private User user;
@@ -3,7 +3,9 @@ package org.com.eventsphere.user.entity;
 public enum Role {
     USER("Regular User"),
     ORGANIZER("Event Organizer"),
-    ADMIN("System Administrator");
+    ADMIN("System Administrator"),
+    // Account used by another EventSphere service, e.g. to introspect tokens.
+    SERVICE("Internal Service");
 
     private final String displayName;
 
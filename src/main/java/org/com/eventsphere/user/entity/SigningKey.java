@@ -0,0 +1,54 @@
+package org.com.eventsphere.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * An asymmetric JWT signing key. Keys are shared by every instance of the service through this table,
+ * so a token signed by one node can be verified against the key set published by any other node.
+ * A key signs tokens between notBefore and notAfter, and stays published until expiresAt so that
+ * tokens it signed can still be verified.
+ */
+@Entity
+@Table(name = "jwt_signing_keys", indexes = {
+        @Index(name = "idx_signing_key_expires_at", columnList = "expires_at")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SigningKey {
+    @Id
+    @Column(name = "kid", length = 64)
+    private String kid;
+
+    // The JWS algorithm, e.g. ES256 or EdDSA.
+    @Column(name = "algorithm", nullable = false, length = 16)
+    private String algorithm;
+
+    // The java.security key algorithm used to decode the stored keys, e.g. EC or EdDSA.
+    @Column(name = "key_algorithm", nullable = false, length = 16)
+    private String keyAlgorithm;
+
+    // X.509 encoded public key.
+    @Column(name = "public_key", nullable = false)
+    private byte[] publicKey;
+
+    // PKCS#8 encoded private key.
+    @Column(name = "private_key", nullable = false)
+    private byte[] privateKey;
+
+    @Column(name = "not_before", nullable = false)
+    private Instant notBefore;
+
+    @Column(name = "not_after", nullable = false)
+    private Instant notAfter;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,7 +22,11 @@ import java.util.List;
 @Table(name = "users", indexes = {
         // Add indexes for commonly queried fields
         @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_role", columnList = "role")
+        // Composite indexes backing the keyset-paginated reports in UserRepositoryImpl.
+        @Index(name = "idx_users_role_user_id", columnList = "role, userId"),
+        @Index(name = "idx_users_active_user_id", columnList = "is_active, userId"),
+        @Index(name = "idx_users_created_at_user_id", columnList = "created_at, userId"),
+        @Index(name = "idx_users_last_login_at_user_id", columnList = "last_login_at, userId")
 })
 @Data
 @NoArgsConstructor
@@ -66,6 +71,12 @@ public class User implements UserDetails {
     @Builder.Default
     private boolean isEmailVerified = false;
 
+    // Bumped whenever previously issued access tokens must stop being accepted (role change, deactivation).
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int tokenVersion = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     @Column(name = "updated_at", nullable = false)
@@ -10,7 +10,8 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "verification_tokens", indexes = {
-        @Index(name = "idx_verification_token", columnList = "token", unique = true)
+        @Index(name = "idx_verification_token", columnList = "token", unique = true),
+        @Index(name = "idx_verification_token_expiry", columnList = "expiryDate")
 })
 @Data
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package org.com.eventsphere.user.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -107,6 +108,67 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles PasswordHashingOverloadedException thrown when too many passwords are waiting to be hashed.
+     * The client is told when to retry instead of waiting for a request thread.
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<Object> handlePasswordHashingOverloadedException(PasswordHashingOverloadedException ex) {
+        Map<String, Object> body = Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "error", "Too Many Requests",
+                "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    /**
+     * Handles TooManyLoginAttemptsException thrown when an email or client IP is locked out by the LoginThrottle.
+     */
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<Object> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex) {
+        Map<String, Object> body = Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "error", "Too Many Requests",
+                "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    /**
+     * Handles InvalidCursorException thrown when a pagination cursor has been altered or truncated.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, Object> body = Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "error", "Bad Request",
+                "message", ex.getMessage()
+        );
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles UnsupportedExportFormatException thrown when an export is requested in an unknown format.
+     */
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<Object> handleUnsupportedExportFormatException(UnsupportedExportFormatException ex) {
+        Map<String, Object> body = Map.of(
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.BAD_REQUEST.value(),
+                "error", "Bad Request",
+                "message", ex.getMessage()
+        );
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles validation errors from @Valid annotation and returns a 400 BAD_REQUEST response.
      * This method extracts all validation error messages and formats them into a clean response.
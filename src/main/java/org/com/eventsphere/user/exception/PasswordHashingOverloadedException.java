@@ -0,0 +1,18 @@
+package org.com.eventsphere.user.exception;
+
+/**
+ * Thrown when the password hashing pool cannot accept more work.
+ * GlobalExceptionHandler turns it into a 429 Too Many Requests response with a Retry-After header.
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(long retryAfterSeconds) {
+        super("The service is busy processing other sign-ins. Please try again shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
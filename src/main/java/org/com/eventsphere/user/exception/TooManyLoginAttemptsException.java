@@ -0,0 +1,18 @@
+package org.com.eventsphere.user.exception;
+
+/**
+ * Thrown when an email or client IP has too many recent failed logins.
+ * GlobalExceptionHandler turns it into a 429 Too Many Requests response with a Retry-After header.
+ */
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Too many failed login attempts. Please try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package org.com.eventsphere.user.exception;
+
+/**
+ * Thrown when an export is requested in a format the service cannot write.
+ */
+public class UnsupportedExportFormatException extends RuntimeException {
+    public UnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
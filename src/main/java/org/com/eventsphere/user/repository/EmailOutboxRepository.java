@@ -0,0 +1,21 @@
+package org.com.eventsphere.user.repository;
+
+import org.com.eventsphere.user.entity.EmailOutboxMessage;
+import org.com.eventsphere.user.entity.EmailOutboxMessage.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long>, EmailOutboxRepositoryCustom {
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") Status status, @Param("now") Instant now, Limit limit);
+
+    long countByStatus(Status status);
+
+    @Query("SELECT min(m.createdAt) FROM EmailOutboxMessage m WHERE m.status = :status")
+    Instant findOldestCreatedAt(@Param("status") Status status);
+}
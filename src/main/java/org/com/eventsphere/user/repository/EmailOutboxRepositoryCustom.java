@@ -0,0 +1,16 @@
+package org.com.eventsphere.user.repository;
+
+import org.com.eventsphere.user.entity.EmailOutboxMessage;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepositoryCustom {
+    /**
+     * Takes a lease until leaseUntil on those of the given messages that are still pending and due, in one statement,
+     * so that only one worker on one node sends each of them. Rows another worker is claiming right now are skipped.
+     * @return The claimed messages, detached.
+     */
+    List<EmailOutboxMessage> claimBatch(Collection<Long> ids, Instant now, Instant leaseUntil);
+}
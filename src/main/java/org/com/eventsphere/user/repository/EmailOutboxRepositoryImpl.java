@@ -0,0 +1,57 @@
+package org.com.eventsphere.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.EmailOutboxMessage;
+import org.com.eventsphere.user.entity.EmailOutboxMessage.Status;
+import org.com.eventsphere.user.entity.EmailOutboxMessage.Type;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Claims outbox messages with a single UPDATE ... RETURNING instead of one UPDATE and one SELECT per message.
+ * FOR UPDATE SKIP LOCKED in the subquery lets concurrent claimers pass over each other's rows instead of
+ * waiting for them.
+ */
+@RequiredArgsConstructor
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepositoryCustom {
+
+    private static final RowMapper<EmailOutboxMessage> ROW_MAPPER = (rs, rowNum) -> EmailOutboxMessage.builder()
+            .id(rs.getLong("id"))
+            .type(Type.valueOf(rs.getString("type")))
+            .recipient(rs.getString("recipient"))
+            .token(rs.getString("token"))
+            .locale(rs.getString("locale"))
+            .status(Status.valueOf(rs.getString("status")))
+            .attempts(rs.getInt("attempts"))
+            .nextAttemptAt(rs.getTimestamp("nextAttemptAt").toInstant())
+            .createdAt(rs.getTimestamp("createdAt").toInstant())
+            .lastError(rs.getString("lastError"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<EmailOutboxMessage> claimBatch(Collection<Long> ids, Instant now, Instant leaseUntil) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "UPDATE email_outbox SET nextAttemptAt = ? WHERE id IN ("
+                + "SELECT id FROM email_outbox WHERE id IN (" + placeholders + ") AND status = ? AND nextAttemptAt <= ? "
+                + "FOR UPDATE SKIP LOCKED) "
+                + "RETURNING id, type, recipient, token, locale, status, attempts, nextAttemptAt, createdAt, lastError";
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(Timestamp.from(leaseUntil));
+        args.addAll(ids);
+        args.add(Status.PENDING.name());
+        args.add(Timestamp.from(now));
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+    }
+}
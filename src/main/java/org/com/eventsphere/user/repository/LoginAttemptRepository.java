@@ -7,6 +7,6 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
+public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long>, LoginAttemptRepositoryCustom {
     List<LoginAttempt> findByEmailOrderByTimestampDesc(String email);
 }
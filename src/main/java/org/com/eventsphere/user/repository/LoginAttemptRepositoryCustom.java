@@ -0,0 +1,15 @@
+package org.com.eventsphere.user.repository;
+
+import org.com.eventsphere.user.entity.LoginAttempt;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LoginAttemptRepositoryCustom {
+    /**
+     * Returns up to limit attempts for the email, newest first, strictly after the (afterTimestamp, afterId) position.
+     * Every filter argument is optional and may be null.
+     */
+    List<LoginAttempt> findPage(String email, LocalDateTime from, LocalDateTime to, Boolean successful,
+                                LocalDateTime afterTimestamp, Long afterId, int limit);
+}
@@ -0,0 +1,56 @@
+package org.com.eventsphere.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.LoginAttempt;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pagination over login_attempts. Only the filters that are present are added to the WHERE clause,
+ * so the planner always sees a plain range on the (email, timestamp DESC, id DESC) index, and the
+ * (timestamp, id) row comparison lets it start reading right at the cursor however deep the page is.
+ */
+@RequiredArgsConstructor
+public class LoginAttemptRepositoryImpl implements LoginAttemptRepositoryCustom {
+
+    private static final RowMapper<LoginAttempt> ROW_MAPPER = (rs, rowNum) -> LoginAttempt.builder()
+            .id(rs.getLong("id"))
+            .email(rs.getString("email"))
+            .successful(rs.getBoolean("successful"))
+            .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LoginAttempt> findPage(String email, LocalDateTime from, LocalDateTime to, Boolean successful,
+                                       LocalDateTime afterTimestamp, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, email, successful, timestamp FROM login_attempts WHERE email = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(email);
+        if (from != null) {
+            sql.append(" AND timestamp >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            args.add(to);
+        }
+        if (successful != null) {
+            sql.append(" AND successful = ?");
+            args.add(successful);
+        }
+        if (afterTimestamp != null && afterId != null) {
+            sql.append(" AND (timestamp, id) < (?, ?)");
+            args.add(afterTimestamp);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+}
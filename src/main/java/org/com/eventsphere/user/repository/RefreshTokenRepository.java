@@ -1,20 +1,54 @@
 package org.com.eventsphere.user.repository;
 
 import org.com.eventsphere.user.entity.RefreshToken;
-import org.com.eventsphere.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> findByUser(User user);
 
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.token = :token")
+    Optional<RefreshToken> findByTokenWithUser(@Param("token") String token);
+
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.token IN :tokens")
+    List<RefreshToken> findAllByTokenInWithUser(@Param("tokens") Collection<String> tokens);
+
+    // Conditional, so that of two concurrent uses of the same token only one can rotate it.
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken rt SET rt.rotatedAt = :now WHERE rt.token = :token AND rt.rotatedAt IS NULL")
+    int markRotated(@Param("token") String token, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken rt WHERE rt.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user.userId = :userId AND rt.deviceId = :deviceId")
+    int deleteByUserIdAndDeviceId(@Param("userId") Long userId, @Param("deviceId") String deviceId);
+
+    // Revokes every session of the user in one statement on the user_id index.
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Keeps the user's maxSessions most recently used sessions and deletes the rest, rotated tokens included.
     @Modifying
     @Transactional
-    @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
-    void deleteByUser(User user);
+    @Query(value = "DELETE FROM refresh_tokens WHERE user_id = :userId AND familyId IN (" +
+            "SELECT familyId FROM refresh_tokens WHERE user_id = :userId AND rotatedAt IS NULL " +
+            "ORDER BY issuedAt DESC OFFSET :maxSessions)",
+            nativeQuery = true)
+    int deleteLeastRecentlyUsedSessions(@Param("userId") Long userId, @Param("maxSessions") int maxSessions);
 }
@@ -0,0 +1,25 @@
+package org.com.eventsphere.user.repository;
+
+import org.com.eventsphere.user.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+    List<SigningKey> findByExpiresAtAfterOrderByNotBeforeAsc(Instant instant);
+
+    Optional<SigningKey> findFirstByOrderByNotAfterDesc();
+
+    @Modifying
+    @Query("DELETE FROM SigningKey k WHERE k.expiresAt < :instant")
+    int deleteExpiredBefore(@Param("instant") Instant instant);
+
+    // Transaction-scoped Postgres advisory lock, so only one node rotates keys at a time.
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+}
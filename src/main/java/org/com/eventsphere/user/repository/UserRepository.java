@@ -1,21 +1,23 @@
 package org.com.eventsphere.user.repository;
 
-import org.com.eventsphere.user.entity.Role;
+import jakarta.persistence.QueryHint;
 import org.com.eventsphere.user.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     @Modifying
@@ -23,14 +25,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lastLoginAt = :loginTime WHERE u.userId = :userId")
     void updateLastLogin(@Param("userId") Long userId, @Param("loginTime") LocalDateTime loginTime);
 
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    void updatePassword(@Param("email") String email, @Param("password") String password);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findTokenVersionById(@Param("userId") Long userId);
 
-    List<User> findByRole(Role role);
 
-    @Query("SELECT u FROM User u WHERE lower(u.firstName) LIKE lower(concat('%', :query, '%')) OR lower(u.lastName) LIKE lower(concat('%', :query, '%')) OR lower(u.email) LIKE lower(concat('%', :query, '%'))")
-    List<User> searchByFirstNameLastNameOrEmail(@Param("query") String query);
-    List<User> findByIsActive(boolean isActive);
-    List<User> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
-    List<User> findByLastLoginAtBefore(LocalDateTime dateTime);
+    // Reads through a server-side cursor, 500 rows per round trip, instead of loading the whole table.
+    // Must be consumed inside a transaction, and the caller must close the stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.userId")
+    Stream<User> streamAllOrderedById();
 
     @Modifying
     @Query("DELETE FROM User u WHERE u.isEmailVerified = false AND u.createdAt < :cutoff")
@@ -0,0 +1,29 @@
+package org.com.eventsphere.user.repository;
+
+import org.com.eventsphere.user.entity.Role;
+import org.com.eventsphere.user.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset-paginated reporting queries. Each returns up to limit users strictly after the given position,
+ * in the order stated; a null position means the first page.
+ */
+public interface UserRepositoryCustom {
+    // Ordered by userId.
+    List<User> findPageByRole(Role role, Long afterId, int limit);
+
+    // Ordered by userId.
+    List<User> findPageByActive(boolean active, Long afterId, int limit);
+
+    // Case-insensitive substring match on first name, last name or email, ordered by userId.
+    List<User> findPageBySearch(String query, Long afterId, int limit);
+
+    // created_at in [start, end), ordered by (created_at, userId).
+    List<User> findPageCreatedBetween(LocalDateTime start, LocalDateTime end,
+                                      LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    // last_login_at before the given time, ordered by (last_login_at, userId).
+    List<User> findPageLastLoginBefore(LocalDateTime before, LocalDateTime afterLastLoginAt, Long afterId, int limit);
+}
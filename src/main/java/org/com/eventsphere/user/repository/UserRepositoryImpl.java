@@ -0,0 +1,110 @@
+package org.com.eventsphere.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.Role;
+import org.com.eventsphere.user.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset pagination over users. Every query continues from a row comparison on its sort key, which ends in
+ * userId to break ties, and is served by a matching composite index: (role, userId), (is_active, userId),
+ * (created_at, userId) or (last_login_at, userId). The planner starts reading right at the cursor, so a deep
+ * page costs the same as the first. The search cannot use an index for '%query%' and walks the primary key.
+ * The users returned are not managed by the persistence context and are meant for reading only.
+ */
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String COLUMNS = "SELECT userId, email, password, first_name, last_name, phone_number, role, "
+            + "is_active, is_email_verified, token_version, created_at, updated_at, last_login_at FROM users";
+
+    private static final RowMapper<User> ROW_MAPPER = (rs, rowNum) -> User.builder()
+            .userId(rs.getLong("userId"))
+            .email(rs.getString("email"))
+            .password(rs.getString("password"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .phoneNumber(rs.getString("phone_number"))
+            .role(Role.valueOf(rs.getString("role")))
+            .isActive(rs.getBoolean("is_active"))
+            .isEmailVerified(rs.getBoolean("is_email_verified"))
+            .tokenVersion(rs.getInt("token_version"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .lastLoginAt(rs.getObject("last_login_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<User> findPageByRole(Role role, Long afterId, int limit) {
+        return pageById(" WHERE role = ?", role.name(), afterId, limit);
+    }
+
+    @Override
+    public List<User> findPageByActive(boolean active, Long afterId, int limit) {
+        return pageById(" WHERE is_active = ?", active, afterId, limit);
+    }
+
+    @Override
+    public List<User> findPageBySearch(String query, Long afterId, int limit) {
+        String pattern = "%" + query.toLowerCase() + "%";
+        StringBuilder sql = new StringBuilder(COLUMNS)
+                .append(" WHERE (lower(first_name) LIKE ? OR lower(last_name) LIKE ? OR lower(email) LIKE ?)");
+        List<Object> args = new ArrayList<>(List.of(pattern, pattern, pattern));
+        return query(sql, args, "userId", null, afterId, limit);
+    }
+
+    @Override
+    public List<User> findPageCreatedBetween(LocalDateTime start, LocalDateTime end,
+                                             LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE created_at >= ? AND created_at < ?");
+        List<Object> args = new ArrayList<>(List.of(start, end));
+        return query(sql, args, "created_at", afterCreatedAt, afterId, limit);
+    }
+
+    @Override
+    public List<User> findPageLastLoginBefore(LocalDateTime before, LocalDateTime afterLastLoginAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE last_login_at < ?");
+        List<Object> args = new ArrayList<>(List.of(before));
+        return query(sql, args, "last_login_at", afterLastLoginAt, afterId, limit);
+    }
+
+    // Private helper methods
+
+    private List<User> pageById(String where, Object value, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(where);
+        List<Object> args = new ArrayList<>(List.of(value));
+        return query(sql, args, "userId", null, afterId, limit);
+    }
+
+    /**
+     * Appends the cursor condition, the order and the limit. With sortColumn userId the position is afterId alone;
+     * otherwise it is the (sortColumn, userId) pair.
+     */
+    private List<User> query(StringBuilder sql, List<Object> args, String sortColumn,
+                             Object afterValue, Long afterId, int limit) {
+        if ("userId".equals(sortColumn)) {
+            if (afterId != null) {
+                sql.append(" AND userId > ?");
+                args.add(afterId);
+            }
+            sql.append(" ORDER BY userId");
+        } else {
+            if (afterValue != null && afterId != null) {
+                sql.append(" AND (").append(sortColumn).append(", userId) > (?, ?)");
+                args.add(afterValue);
+                args.add(afterId);
+            }
+            sql.append(" ORDER BY ").append(sortColumn).append(", userId");
+        }
+        sql.append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+}
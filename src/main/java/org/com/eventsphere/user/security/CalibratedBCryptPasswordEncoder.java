@@ -0,0 +1,90 @@
+package org.com.eventsphere.user.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * CalibratedBCryptPasswordEncoder
+ * A BCrypt encoder whose work factor is chosen at startup so that one hash takes roughly a target latency
+ * on the current host. Stored hashes with any other work factor, higher or lower, are reported by
+ * {@link #upgradeEncoding(String)} so they can be re-hashed transparently on the next successful login.
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_RUNS = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Measures BCrypt on this host and picks the work factor whose cost is closest to the target.
+     *
+     * @param targetMillis The desired time for a single hash.
+     * @param minStrength  The lowest work factor that may be chosen, however slow the host.
+     * @param maxStrength  The highest work factor that may be chosen, however fast the host.
+     * @return An encoder using the calibrated work factor.
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD); // Warm-up, so class loading and JIT are not measured.
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - startedAt);
+        }
+        double measuredMillis = Math.max(fastestNanos / 1_000_000.0, 0.001);
+
+        // Each extra unit of work factor doubles the hashing time.
+        int strength = minStrength + (int) Math.round(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info("Calibrated BCrypt work factor to {} (work factor {} took {} ms, target {} ms)",
+                strength, minStrength, String.format("%.1f", measuredMillis), targetMillis);
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // BCrypt reads the work factor from the stored hash, so hashes of any strength still verify.
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedStrength = parseStrength(encodedPassword);
+        return storedStrength > 0 && storedStrength != strength;
+    }
+
+    // A BCrypt hash looks like "$2a$10$...", where 10 is the work factor.
+    private static int parseStrength(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
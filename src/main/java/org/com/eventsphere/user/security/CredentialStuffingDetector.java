@@ -0,0 +1,316 @@
+package org.com.eventsphere.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.eventsphere.user.exception.TooManyLoginAttemptsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CredentialStuffingDetector
+ * Spots credential stuffing, where one source tries a few passwords against many different emails, which
+ * the per-key LoginThrottle cannot see. It estimates, over a sliding window:
+ * - the number of distinct emails that failed to log in from each subnet (/24 for IPv4, /64 for IPv6),
+ *   with a count-min grid whose cells are small HyperLogLog sketches,
+ * - the number of failed logins per subnet, with a plain count-min sketch,
+ * - the global failure ratio and number of distinct failed emails.
+ * Logins from a subnet over its limits are rejected before password hashing. When the global failure ratio is
+ * high the service enters degraded mode, in which the per-subnet distinct email limit is lowered.
+ * Memory use depends only on the configured sketch sizes, never on how many emails or addresses are seen.
+ * Sketch updates are not synchronized; a racing update may occasionally be lost, which only makes the
+ * estimates slightly low.
+ */
+@Component
+public class CredentialStuffingDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(CredentialStuffingDetector.class);
+
+    // 64 registers per cell: about 13% standard error, enough to tell a handful of emails from hundreds.
+    private static final int CELL_PRECISION = 6;
+    // 1024 registers for the global sketch: about 3% standard error.
+    private static final int GLOBAL_PRECISION = 10;
+
+    private final long sliceMillis;
+    private final int sliceCount;
+    private final int depth;
+    private final int width;
+    private final Slice[] slices;
+
+    @Value("${security.stuffing-detector.subnet-distinct-emails:20}")
+    private int subnetDistinctEmails;
+    @Value("${security.stuffing-detector.degraded-subnet-distinct-emails:5}")
+    private int degradedSubnetDistinctEmails;
+    @Value("${security.stuffing-detector.subnet-max-failures:200}")
+    private long subnetMaxFailures;
+    @Value("${security.stuffing-detector.global-failure-ratio:0.5}")
+    private double globalFailureRatio;
+    @Value("${security.stuffing-detector.global-min-attempts:100}")
+    private long globalMinAttempts;
+
+    private volatile boolean degraded;
+    private volatile double failureRatio;
+    private volatile long distinctFailedEmails;
+    private final Counter rejected;
+
+    public CredentialStuffingDetector(MeterRegistry meterRegistry,
+                                      @Value("${security.stuffing-detector.window-seconds:300}") long windowSeconds,
+                                      @Value("${security.stuffing-detector.slices:5}") int sliceCount,
+                                      @Value("${security.stuffing-detector.sketch-depth:4}") int depth,
+                                      @Value("${security.stuffing-detector.sketch-width:1024}") int width) {
+        this.sliceCount = sliceCount;
+        this.sliceMillis = Math.max(1, windowSeconds * 1000 / sliceCount);
+        this.depth = depth;
+        this.width = width;
+        // One spare slice is cleared ahead of time, while the window is made of the others.
+        this.slices = new Slice[sliceCount + 1];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice();
+        }
+        this.rejected = Counter.builder("login.stuffing.rejected")
+                .description("Login attempts rejected by the credential stuffing detector")
+                .register(meterRegistry);
+        Gauge.builder("login.stuffing.degraded", this, detector -> detector.degraded ? 1 : 0)
+                .description("1 while the auth endpoints are in degraded mode")
+                .register(meterRegistry);
+        Gauge.builder("login.stuffing.failure.ratio", this, detector -> detector.failureRatio)
+                .description("Share of login attempts that failed over the detection window")
+                .register(meterRegistry);
+        Gauge.builder("login.stuffing.distinct.failed.emails", this, detector -> detector.distinctFailedEmails)
+                .description("Estimated number of distinct emails with failed logins over the detection window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the client's subnet looks like a credential stuffing source.
+     * @throws TooManyLoginAttemptsException if it does.
+     */
+    public void checkAllowed(String clientIp) {
+        long subnet = subnetHash(clientIp);
+        if (subnet == 0) {
+            return;
+        }
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        int distinctLimit = degraded ? degradedSubnetDistinctEmails : subnetDistinctEmails;
+        if (estimateDistinctEmails(subnet, epoch) >= distinctLimit || estimateFailures(subnet, epoch) >= subnetMaxFailures) {
+            rejected.increment();
+            log.warn("Login from address {} rejected as a likely credential stuffing source (degraded mode: {})", clientIp, degraded);
+            throw new TooManyLoginAttemptsException(sliceCount * sliceMillis / 1000);
+        }
+    }
+
+    public void record(String email, String clientIp, boolean successful) {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        Slice slice = slices[(int) (epoch % slices.length)];
+        slice.prepare(epoch);
+        slice.attempts.increment();
+        if (successful) {
+            return;
+        }
+        slice.failures.increment();
+        long emailHash = hash(email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+        addToHll(slice.globalRegisters, 0, GLOBAL_PRECISION, emailHash);
+        long subnet = subnetHash(clientIp);
+        if (subnet != 0) {
+            for (int row = 0; row < depth; row++) {
+                int column = column(subnet, row);
+                slice.failureCounts.incrementAndGet(row * width + column);
+                addToHll(slice.cellRegisters, (row * width + column) << CELL_PRECISION, CELL_PRECISION, emailHash);
+            }
+        }
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Clears the slice that comes next, and re-evaluates the global failure ratio and degraded mode.
+     */
+    @Scheduled(fixedRateString = "#{${security.stuffing-detector.window-seconds:300} * 1000 / ${security.stuffing-detector.slices:5}}")
+    public void advance() {
+        long epoch = System.currentTimeMillis() / sliceMillis;
+        slices[(int) ((epoch + 1) % slices.length)].prepare(epoch + 1);
+
+        long attempts = 0;
+        long failures = 0;
+        byte[] merged = new byte[1 << GLOBAL_PRECISION];
+        for (Slice slice : slices) {
+            if (slice.inWindow(epoch)) {
+                attempts += slice.attempts.sum();
+                failures += slice.failures.sum();
+                mergeInto(merged, slice.globalRegisters, 0);
+            }
+        }
+        failureRatio = attempts == 0 ? 0 : (double) failures / attempts;
+        distinctFailedEmails = Math.round(estimate(merged));
+        boolean nowDegraded = attempts >= globalMinAttempts && failureRatio >= globalFailureRatio;
+        if (nowDegraded != degraded) {
+            degraded = nowDegraded;
+            log.warn("Credential stuffing degraded mode {} (failure ratio {}, {} attempts, ~{} distinct failed emails)",
+                    nowDegraded ? "entered" : "left", String.format("%.2f", failureRatio), attempts, distinctFailedEmails);
+        }
+    }
+
+    // Private helper methods
+
+    private long estimateDistinctEmails(long subnet, long epoch) {
+        double min = Double.MAX_VALUE;
+        byte[] merged = new byte[1 << CELL_PRECISION];
+        for (int row = 0; row < depth; row++) {
+            int offset = (row * width + column(subnet, row)) << CELL_PRECISION;
+            Arrays.fill(merged, (byte) 0);
+            for (Slice slice : slices) {
+                if (slice.inWindow(epoch)) {
+                    mergeInto(merged, slice.cellRegisters, offset);
+                }
+            }
+            min = Math.min(min, estimate(merged));
+        }
+        return Math.round(min);
+    }
+
+    private long estimateFailures(long subnet, long epoch) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + column(subnet, row);
+            long count = 0;
+            for (Slice slice : slices) {
+                if (slice.inWindow(epoch)) {
+                    count += slice.failureCounts.get(index);
+                }
+            }
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    private int column(long subnet, int row) {
+        // Double hashing gives each row an independent column.
+        long h = mix(subnet + row * 0x9E3779B97F4A7C15L);
+        return (int) Long.remainderUnsigned(h, width);
+    }
+
+    private static void addToHll(byte[] registers, int offset, int precision, long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[offset + index] < rank) {
+            registers[offset + index] = rank;
+        }
+    }
+
+    private static void mergeInto(byte[] target, byte[] registers, int offset) {
+        for (int i = 0; i < target.length; i++) {
+            byte value = registers[offset + i];
+            if (value > target[i]) {
+                target[i] = value;
+            }
+        }
+    }
+
+    private static double estimate(byte[] registers) {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double raw = alpha * m * m / sum;
+        // Linear counting is more accurate for small cardinalities.
+        return raw <= 2.5 * m && zeros > 0 ? m * Math.log((double) m / zeros) : raw;
+    }
+
+    /**
+     * @return A 64-bit hash of the /24 (IPv4) or /64 (IPv6) network of the address, or 0 if there is no usable address.
+     */
+    private static long subnetHash(String clientIp) {
+        if (clientIp == null || clientIp.isBlank()) {
+            return 0;
+        }
+        try {
+            // Only literal addresses reach this point, so no name lookup happens.
+            InetAddress inetAddress = InetAddress.getByName(clientIp);
+            byte[] address = inetAddress.getAddress();
+            int prefixBytes = inetAddress instanceof Inet4Address ? 3 : 8;
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < prefixBytes; i++) {
+                h = (h ^ (address[i] & 0xFF)) * 0x100000001B3L;
+            }
+            return mix(h ^ prefixBytes) | 1;
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    // The MurmurHash3 64-bit finalizer, to spread FNV-1a output over all bits.
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * The sketches for one slice of the window.
+     */
+    private final class Slice {
+        private final byte[] cellRegisters = new byte[(depth * width) << CELL_PRECISION];
+        private final AtomicLongArray failureCounts = new AtomicLongArray(depth * width);
+        private final byte[] globalRegisters = new byte[1 << GLOBAL_PRECISION];
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private volatile long epoch = -1;
+
+        /**
+         * Resets the slice for the given epoch unless that has already been done.
+         */
+        void prepare(long forEpoch) {
+            if (epoch == forEpoch) {
+                return;
+            }
+            synchronized (this) {
+                if (epoch != forEpoch) {
+                    Arrays.fill(cellRegisters, (byte) 0);
+                    Arrays.fill(globalRegisters, (byte) 0);
+                    for (int i = 0; i < failureCounts.length(); i++) {
+                        failureCounts.set(i, 0);
+                    }
+                    attempts.reset();
+                    failures.reset();
+                    epoch = forEpoch;
+                }
+            }
+        }
+
+        boolean inWindow(long currentEpoch) {
+            long e = epoch;
+            return e <= currentEpoch && e > currentEpoch - sliceCount;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.com.eventsphere.user.security;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.service.LoginAttemptJournal;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * LoginAttemptEventListener
+ * Records every username/password authentication handled by the AuthenticationManager, successful or not,
+ * in the LoginAttemptJournal, the LoginThrottle and the CredentialStuffingDetector. JWT-authenticated requests do not go through the manager
+ * and are not recorded.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptEventListener {
+
+    private final LoginAttemptJournal loginAttemptJournal;
+    private final LoginThrottle loginThrottle;
+    private final CredentialStuffingDetector credentialStuffingDetector;
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        loginAttemptJournal.record(event.getAuthentication().getName(), true);
+        loginThrottle.recordSuccess(event.getAuthentication().getName());
+        credentialStuffingDetector.record(event.getAuthentication().getName(), clientIp(event.getAuthentication()), true);
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        loginAttemptJournal.record(event.getAuthentication().getName(), false);
+        loginThrottle.recordFailure(event.getAuthentication().getName(), clientIp(event.getAuthentication()));
+        credentialStuffingDetector.record(event.getAuthentication().getName(), clientIp(event.getAuthentication()), false);
+    }
+
+    private static String clientIp(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details ? details.getRemoteAddress() : null;
+    }
+}
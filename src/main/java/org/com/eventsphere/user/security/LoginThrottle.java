@@ -0,0 +1,327 @@
+package org.com.eventsphere.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.eventsphere.user.dto.LoginLockoutResponse;
+import org.com.eventsphere.user.exception.TooManyLoginAttemptsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LoginThrottle
+ * Counts failed logins per email and per client IP over a sliding window and rejects further attempts
+ * once either limit is reached, before any password hashing happens.
+ * Each key owns a small ring of time buckets updated with CAS, so recording a failure never takes a lock.
+ * Idle keys are removed by a timing wheel, and the number of tracked keys per dimension is capped. At the cap,
+ * the coldest of a few keys from the oldest wheel slots is evicted to make room, so spraying random emails
+ * displaces other one-off keys first rather than switching throttling off for new ones.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    // Keys inspected to find the coldest one when a dimension is full.
+    private static final int EVICTION_SAMPLE = 8;
+    private static final long CAPACITY_WARNING_INTERVAL_MILLIS = 60_000;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final Dimension emails;
+    private final Dimension addresses;
+    private final Counter rejected;
+    private final Counter evicted;
+    private final AtomicLong lastCapacityWarningMillis = new AtomicLong();
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${security.login-throttle.window-seconds:900}") long windowSeconds,
+                         @Value("${security.login-throttle.buckets:15}") int bucketCount,
+                         @Value("${security.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+                         @Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                         @Value("${security.login-throttle.max-keys:100000}") int maxKeys) {
+        this.bucketCount = bucketCount;
+        this.bucketMillis = Math.max(1, windowSeconds * 1000 / bucketCount);
+        this.emails = new Dimension("email", maxFailuresPerEmail, maxKeys);
+        this.addresses = new Dimension("ip", maxFailuresPerIp, maxKeys);
+        this.rejected = Counter.builder("login.throttle.rejected")
+                .description("Login attempts rejected by the throttle before password hashing")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("login.throttle.evicted")
+                .description("Tracked keys evicted to make room because the key cap was reached")
+                .register(meterRegistry);
+        Gauge.builder("login.throttle.tracked.keys", this, throttle -> throttle.emails.size() + throttle.addresses.size())
+                .description("Emails and client IPs with recent failed logins")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the email or the client IP has reached its failure limit.
+     * @throws TooManyLoginAttemptsException carrying the number of seconds until the next attempt may succeed.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        long retryAfterMillis = Math.max(emails.retryAfterMillis(normalize(email), now), addresses.retryAfterMillis(clientIp, now));
+        if (retryAfterMillis > 0) {
+            rejected.increment();
+            log.warn("Login throttled for email: {} from address: {}", email, clientIp);
+            throw new TooManyLoginAttemptsException(Math.max(1, (retryAfterMillis + 999) / 1000));
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        emails.increment(normalize(email), epoch);
+        addresses.increment(clientIp, epoch);
+    }
+
+    /**
+     * A successful login clears the email's failures. The IP keeps its count, since one address
+     * guessing many accounts may well succeed on some of them.
+     */
+    public void recordSuccess(String email) {
+        emails.clear(normalize(email));
+    }
+
+    /**
+     * @return Every email and IP that is currently locked out.
+     */
+    public List<LoginLockoutResponse> getLockouts() {
+        long now = System.currentTimeMillis();
+        List<LoginLockoutResponse> lockouts = new ArrayList<>();
+        emails.collectLockouts(now, lockouts);
+        addresses.collectLockouts(now, lockouts);
+        return lockouts;
+    }
+
+    public boolean clearEmail(String email) {
+        return emails.clear(normalize(email));
+    }
+
+    public boolean clearIp(String clientIp) {
+        return addresses.clear(clientIp);
+    }
+
+    /**
+     * Advances the timing wheel and drops keys that have had no failures for a whole window.
+     */
+    @Scheduled(fixedRateString = "#{${security.login-throttle.window-seconds:900} * 1000 / ${security.login-throttle.buckets:15}}")
+    public void expireIdleKeys() {
+        long epoch = System.currentTimeMillis() / bucketMillis;
+        int removed = emails.expire(epoch) + addresses.expire(epoch);
+        if (removed > 0) {
+            log.debug("Login throttle expired {} idle key(s)", removed);
+        }
+    }
+
+    // Private helper methods
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void warnAtCapacity(String type) {
+        long now = System.currentTimeMillis();
+        long last = lastCapacityWarningMillis.get();
+        if (now - last >= CAPACITY_WARNING_INTERVAL_MILLIS && lastCapacityWarningMillis.compareAndSet(last, now)) {
+            log.warn("Login throttle reached its {} key cap; evicting the coldest keys (see login.throttle.evicted)", type);
+        }
+    }
+
+    /**
+     * The counters for one kind of key, plus the timing wheel that expires them.
+     * A key is added to the wheel slot of the bucket in which it last failed; when the wheel comes back
+     * around to that slot one window later, the key is removed unless it has failed again since.
+     */
+    private final class Dimension {
+        private final String type;
+        private final int maxFailures;
+        private final int maxKeys;
+        private final ConcurrentHashMap<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+        private final List<Set<String>> wheel;
+        private long lastExpiredEpoch = -1;
+
+        Dimension(String type, int maxFailures, int maxKeys) {
+            this.type = type;
+            this.maxFailures = maxFailures;
+            this.maxKeys = maxKeys;
+            this.wheel = new ArrayList<>(bucketCount + 1);
+            for (int i = 0; i <= bucketCount; i++) {
+                wheel.add(ConcurrentHashMap.newKeySet());
+            }
+        }
+
+        long retryAfterMillis(String key, long now) {
+            SlidingWindowCounter counter = key == null ? null : counters.get(key);
+            return counter == null ? 0 : counter.retryAfterMillis(now, maxFailures);
+        }
+
+        void increment(String key, long epoch) {
+            if (key == null) {
+                return;
+            }
+            SlidingWindowCounter counter = counters.get(key);
+            if (counter == null) {
+                if (counters.size() >= maxKeys && evictColdest(epoch)) {
+                    evicted.increment();
+                    warnAtCapacity(type);
+                }
+                counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter());
+            }
+            counter.increment(epoch);
+            wheel.get((int) (epoch % wheel.size())).add(key);
+        }
+
+        boolean clear(String key) {
+            return key != null && counters.remove(key) != null;
+        }
+
+        void collectLockouts(long now, List<LoginLockoutResponse> lockouts) {
+            long epoch = now / bucketMillis;
+            for (Map.Entry<String, SlidingWindowCounter> entry : counters.entrySet()) {
+                int failures = entry.getValue().total(epoch);
+                if (failures >= maxFailures) {
+                    long retryAfterMillis = entry.getValue().retryAfterMillis(now, maxFailures);
+                    lockouts.add(new LoginLockoutResponse(type, entry.getKey(), failures, (retryAfterMillis + 999) / 1000));
+                }
+            }
+        }
+
+        // Only called by the scheduled expireIdleKeys, whose runs never overlap.
+        int expire(long epoch) {
+            int removed = 0;
+            long from = lastExpiredEpoch < 0 ? epoch : Math.max(lastExpiredEpoch + 1, epoch - bucketCount);
+            for (long e = from; e <= epoch; e++) {
+                Iterator<String> keys = wheel.get((int) (e % wheel.size())).iterator();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    SlidingWindowCounter counter = counters.get(key);
+                    if (counter == null) {
+                        keys.remove();
+                    } else if (counter.isIdle(epoch)) {
+                        keys.remove();
+                        if (counters.remove(key, counter)) {
+                            removed++;
+                        }
+                    }
+                    // Keys that failed again recently stay in the slot and are checked on the next turn.
+                }
+            }
+            lastExpiredEpoch = epoch;
+            return removed;
+        }
+
+        int size() {
+            return counters.size();
+        }
+
+        /**
+         * Removes the key with the fewest failures among the first EVICTION_SAMPLE keys of the oldest wheel slots.
+         * Locked-out keys have the most failures, so they are only evicted if every sampled key is locked out.
+         * Keys already gone from the counters, such as earlier evictions, are dropped from the wheel on the way,
+         * so a long spray does not leave ever more dead entries to step over.
+         */
+        private boolean evictColdest(long epoch) {
+            String coldestKey = null;
+            SlidingWindowCounter coldest = null;
+            int coldestTotal = Integer.MAX_VALUE;
+            int sampled = 0;
+            // The slot after the current one is the oldest that can still hold keys.
+            for (int i = 1; i <= wheel.size() && sampled < EVICTION_SAMPLE; i++) {
+                Iterator<String> keys = wheel.get((int) ((epoch + i) % wheel.size())).iterator();
+                while (keys.hasNext() && sampled < EVICTION_SAMPLE) {
+                    String key = keys.next();
+                    SlidingWindowCounter counter = counters.get(key);
+                    if (counter == null) {
+                        keys.remove();
+                        continue;
+                    }
+                    int total = counter.total(epoch);
+                    if (total < coldestTotal) {
+                        coldestKey = key;
+                        coldest = counter;
+                        coldestTotal = total;
+                    }
+                    sampled++;
+                }
+            }
+            return coldestKey != null && counters.remove(coldestKey, coldest);
+        }
+    }
+
+    /**
+     * Failure counts for one key, one bucket per slice of the window. Each bucket packs the epoch it belongs to
+     * in the high bits and its count in the low bits, so a stale bucket is reset and incremented in one CAS.
+     */
+    private final class SlidingWindowCounter {
+        private static final int COUNT_BITS = 24;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(bucketCount);
+
+        void increment(long epoch) {
+            int index = (int) (epoch % bucketCount);
+            while (true) {
+                long current = buckets.get(index);
+                long next;
+                if ((current >>> COUNT_BITS) == epoch) {
+                    next = (current & COUNT_MASK) == COUNT_MASK ? current : current + 1;
+                } else {
+                    next = (epoch << COUNT_BITS) | 1;
+                }
+                if (next == current || buckets.compareAndSet(index, current, next)) {
+                    return;
+                }
+            }
+        }
+
+        int total(long epoch) {
+            int total = 0;
+            for (long e = epoch - bucketCount + 1; e <= epoch; e++) {
+                total += countAt(e);
+            }
+            return total;
+        }
+
+        /**
+         * @return How long until enough buckets leave the window for the total to drop below the limit, or 0.
+         */
+        long retryAfterMillis(long now, int limit) {
+            long epoch = now / bucketMillis;
+            int total = total(epoch);
+            if (total < limit) {
+                return 0;
+            }
+            for (long e = epoch - bucketCount + 1; e <= epoch; e++) {
+                total -= countAt(e);
+                if (total < limit) {
+                    // Bucket e leaves the window when epoch e + bucketCount begins.
+                    return (e + bucketCount) * bucketMillis - now;
+                }
+            }
+            return bucketCount * bucketMillis;
+        }
+
+        boolean isIdle(long epoch) {
+            return total(epoch) == 0;
+        }
+
+        private int countAt(long epoch) {
+            long bucket = buckets.get((int) (epoch % bucketCount));
+            return (bucket >>> COUNT_BITS) == epoch ? (int) (bucket & COUNT_MASK) : 0;
+        }
+    }
+}
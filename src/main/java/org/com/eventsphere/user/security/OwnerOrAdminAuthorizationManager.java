@@ -0,0 +1,51 @@
+package org.com.eventsphere.user.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * OwnerOrAdminAuthorizationManager
+ * Grants access to a "/{id}" user endpoint when the caller is an admin or the user with that ID.
+ * The check is plain Java over the already authenticated principal, so it costs no SpEL evaluation
+ * and no database query per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnerOrAdminAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final String ID_VARIABLE = "id";
+
+    private final UserSecurity userSecurity;
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authenticationSupplier, RequestAuthorizationContext context) {
+        Authentication authentication = authenticationSupplier.get();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return new AuthorizationDecision(false);
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return new AuthorizationDecision(true);
+            }
+        }
+        if (!(authentication.getPrincipal() instanceof UserDetails principal)) {
+            return new AuthorizationDecision(false);
+        }
+        Long targetUserId;
+        try {
+            targetUserId = Long.valueOf(context.getVariables().get(ID_VARIABLE));
+        } catch (NumberFormatException e) {
+            return new AuthorizationDecision(false);
+        }
+        return new AuthorizationDecision(userSecurity.canAccessUser(targetUserId, principal));
+    }
+}
@@ -0,0 +1,135 @@
+package org.com.eventsphere.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RefreshTokenCache
+ * A short-lived cache of refresh tokens that were recently issued or found in the database, so that a refresh
+ * does not have to look the token up first. Only the token's owner, session and expiry are cached; the user itself
+ * comes from the UserDetailsCache, which is already kept in sync with every user change.
+ * Tokens are evicted when they are deleted, and all of a user's tokens when the user is deleted or changes email.
+ * Because the TTL is short, a token deleted on another node stays usable here for at most that long.
+ */
+@Component
+public class RefreshTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenCache.class);
+
+    private final Cache<String, Entry> cache;
+    // Reverse index so a user's tokens can be evicted without scanning the cache.
+    private final Map<Long, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    public RefreshTokenCache(MeterRegistry meterRegistry,
+                             @Value("${security.refresh-token-cache.max-size:10000}") long maxSize,
+                             @Value("${security.refresh-token-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .removalListener((String token, Entry entry, RemovalCause cause) -> {
+                    if (token != null && entry != null) {
+                        unindex(entry.userId(), token);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "refreshTokens");
+    }
+
+    public Entry get(String token) {
+        return cache.getIfPresent(token);
+    }
+
+    /**
+     * Caches the token. Inside a transaction this happens only after commit, so a token whose insert
+     * is rolled back is never served from the cache.
+     */
+    public void put(String token, Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> store(token, entry));
+        } else {
+            store(token, entry);
+        }
+    }
+
+    /**
+     * Evicts one token, again after commit when called inside a transaction.
+     */
+    public void invalidate(String token) {
+        if (token == null) {
+            return;
+        }
+        cache.invalidate(token);
+        afterCommit(() -> cache.invalidate(token));
+    }
+
+    /**
+     * Evicts every cached token of the user, again after commit when called inside a transaction.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evictUser(userId);
+        afterCommit(() -> evictUser(userId));
+        log.debug("Evicted cached refresh tokens for user ID: {}", userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    // Private helper methods
+
+    private void store(String token, Entry entry) {
+        tokensByUser.computeIfAbsent(entry.userId(), id -> ConcurrentHashMap.newKeySet()).add(token);
+        cache.put(token, entry);
+    }
+
+    private void evictUser(Long userId) {
+        Set<String> tokens = tokensByUser.remove(userId);
+        if (tokens != null) {
+            cache.invalidateAll(tokens);
+        }
+    }
+
+    private void unindex(Long userId, String token) {
+        tokensByUser.computeIfPresent(userId, (id, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public record Entry(Long userId, String email, String familyId, String deviceId, Instant expiryDate) {
+        public boolean isExpired() {
+            return expiryDate.isBefore(Instant.now());
+        }
+    }
+}
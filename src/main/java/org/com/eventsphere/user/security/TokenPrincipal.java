@@ -0,0 +1,36 @@
+package org.com.eventsphere.user.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TokenPrincipal
+ * The authenticated principal built directly from verified JWT claims, without loading the User from the database.
+ * It only carries what the token vouches for: the user's ID, email and role.
+ */
+public record TokenPrincipal(Long userId, String email, String role) implements UserDetails {
+
+    public static TokenPrincipal from(VerifiedClaims claims) {
+        return new TokenPrincipal(claims.userId(), claims.subject(), claims.role());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        // Credentials are never part of a token.
+        return null;
+    }
+}
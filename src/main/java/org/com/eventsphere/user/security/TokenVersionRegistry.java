@@ -0,0 +1,76 @@
+package org.com.eventsphere.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * TokenVersionRegistry
+ * A small in-memory table of the current token version of each user.
+ * Access tokens carry the version they were issued with in the "ver" claim; a token whose version
+ * no longer matches the table has been revoked. Entries are refreshed from the database at most once
+ * per refresh interval, and immediately by UserServiceImpl whenever a user's version changes.
+ * The table holds at most max-entries users; an evicted user is simply read from the database again.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Version recorded for users that no longer exist. Issued tokens always carry a version >= 0.
+    private static final int DELETED = -1;
+
+    private final UserRepository userRepository;
+    // Expiring an entry after the refresh interval is what makes it re-read from the database.
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${jwt.token-version.refresh-ms:30000}") long refreshIntervalMs,
+                                @Value("${jwt.token-version.max-entries:100000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(refreshIntervalMs))
+                .build();
+    }
+
+    /**
+     * Checks whether a token issued with the given version is still current for the user.
+     *
+     * @param userId       The "userId" claim of the token.
+     * @param tokenVersion The "ver" claim of the token.
+     * @return true if the token has not been revoked, false otherwise.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        // Concurrent checks for the same user share one database read.
+        return versions.get(userId, this::load) == tokenVersion;
+    }
+
+    /**
+     * Records a new token version for a user, revoking every token issued with an older version.
+     */
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+        log.debug("Token version for user {} is now {}", userId, tokenVersion);
+    }
+
+    /**
+     * Revokes every token of a deleted user.
+     */
+    public void markDeleted(Long userId) {
+        versions.put(userId, DELETED);
+        log.debug("Tokens of deleted user {} are revoked", userId);
+    }
+
+    // Private helper methods
+
+    private int load(Long userId) {
+        return userRepository.findTokenVersionById(userId).orElse(DELETED);
+    }
+}
@@ -0,0 +1,121 @@
+package org.com.eventsphere.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.com.eventsphere.user.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * UserDetailsCache
+ * A size- and TTL-bounded cache of users loaded by the UserDetailsService, keyed by email.
+ * Every change to a user must call {@link #invalidate(String)}, which only reaches this node. Other nodes find
+ * out through the token version instead: every security-relevant change (password, role, email, deactivation,
+ * deletion) bumps it, and a hit whose version the TokenVersionRegistry no longer considers current is reloaded.
+ * So on other nodes a stale principal outlives such a change by at most jwt.token-version.refresh-ms, and any
+ * other change by at most the TTL.
+ * The cache holds private snapshots and hands out a fresh copy on every call, so callers may modify what they get
+ * without affecting other requests; writes must still go through an entity loaded from the repository.
+ * Hit, miss and eviction counts are exported as "cache.*" metrics.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final Cache<String, User> cache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    public UserDetailsCache(MeterRegistry meterRegistry, TokenVersionRegistry tokenVersionRegistry,
+                            @Value("${security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+        this.tokenVersionRegistry = tokenVersionRegistry;
+    }
+
+    /**
+     * Returns a copy of the cached user for the email, loading it on a miss or when its token version is outdated.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     */
+    public User get(String email, Function<String, User> loader) {
+        User cached = cache.getIfPresent(email);
+        if (cached != null) {
+            if (tokenVersionRegistry.isCurrent(cached.getUserId(), cached.getTokenVersion())) {
+                return copy(cached);
+            }
+            // Changed on another node since it was cached.
+            cache.asMap().remove(email, cached);
+        }
+        return copy(cache.get(email, key -> copy(loader.apply(key))));
+    }
+
+    /**
+     * Evicts the user with the given email. When called inside a transaction, the entry is evicted
+     * again after commit so that a concurrent load of the pre-commit row cannot be left behind.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        log.debug("Evicted cached user details for email: {}", email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every cached user, for bulk changes that cannot be traced back to individual emails.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.debug("Evicted all cached user details");
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    // Private helper methods
+
+    private static User copy(User user) {
+        return User.builder()
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .phoneNumber(user.getPhoneNumber())
+                .role(user.getRole())
+                .isActive(user.isActive())
+                .isEmailVerified(user.isEmailVerified())
+                .tokenVersion(user.getTokenVersion())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLoginAt(user.getLastLoginAt())
+                .build();
+    }
+}
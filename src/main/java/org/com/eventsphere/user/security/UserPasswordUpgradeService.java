@@ -0,0 +1,37 @@
+package org.com.eventsphere.user.security;
+
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserPasswordUpgradeService
+ * Called by DaoAuthenticationProvider after a successful login when the stored hash was produced with
+ * different encoder settings than the current ones. It stores the re-hashed password, so hashes migrate
+ * to the calibrated work factor without a mass password reset.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserPasswordUpgradeService implements UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPasswordUpgradeService.class);
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.invalidate(user.getUsername());
+        log.info("Re-hashed stored password for user: {}", user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+}
@@ -1,6 +1,7 @@
 package org.com.eventsphere.user.security;
 
 import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.User;
 import org.com.eventsphere.user.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,7 @@ import org.springframework.stereotype.Component;
 /**
  * UserSecurity
  * This component provides security-related utility methods for authorization checks.
- * It's used in @PreAuthorize annotations to verify user permissions.
+ * It's used by OwnerOrAdminAuthorizationManager and in @PreAuthorize annotations to verify user permissions.
  */
 @Component("userSecurity")
 @RequiredArgsConstructor
@@ -22,12 +23,20 @@ public class UserSecurity {
 
     /**
      * Gets the user ID from the authenticated principal.
+     * Principals built by the JWT filter already carry the ID, so the database is only
+     * consulted for other kinds of principals.
      *
      * @param principal The authenticated user details
      * @return The user ID of the authenticated user
      */
     public Long getUserId(UserDetails principal) {
-        log.debug("Getting user ID for principal: {}", principal.getUsername());
+        if (principal instanceof User user) {
+            return user.getUserId();
+        }
+        if (principal instanceof TokenPrincipal tokenPrincipal) {
+            return tokenPrincipal.userId();
+        }
+        log.debug("Looking up user ID for principal: {}", principal.getUsername());
 
         return userRepository.findByEmail(principal.getUsername())
                 .map(user -> user.getUserId())
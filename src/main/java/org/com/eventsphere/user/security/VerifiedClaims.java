@@ -0,0 +1,28 @@
+package org.com.eventsphere.user.security;
+
+import java.time.Instant;
+
+/**
+ * VerifiedClaims
+ * An immutable view of a JWT whose signature has already been checked by JwtService.
+ * Holding on to this object avoids parsing and verifying the same token more than once per request.
+ *
+ * @param subject   The username (email) the token was issued to.
+ * @param userId    The "userId" claim, or null for tokens that were not issued for a User entity.
+ * @param role      The "roles" claim, or null when absent.
+ * @param tokenVersion The "ver" claim, or null for tokens issued before token versioning existed.
+ * @param issuedAt  When the token was issued.
+ * @param expiresAt When the token stops being valid.
+ */
+public record VerifiedClaims(
+        String subject,
+        Long userId,
+        String role,
+        Integer tokenVersion,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,286 @@
+package org.com.eventsphere.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.internet.MimeMessage;
+import org.com.eventsphere.user.entity.EmailOutboxMessage;
+import org.com.eventsphere.user.entity.EmailOutboxMessage.Status;
+import org.com.eventsphere.user.entity.EmailOutboxMessage.Type;
+import org.com.eventsphere.user.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EmailOutbox
+ * Transactional outbox for outgoing emails. Callers queue an email inside their own transaction; it is handed to a
+ * small, bounded worker pool once that transaction commits, so no request waits on SMTP or holds a database
+ * connection while mail is sent. Workers hold no connection while talking to the mail server either.
+ * Failed sends are retried with exponential backoff and jitter, and dead-lettered after max-attempts.
+ * A poller picks up anything the pool could not accept, anything left by a crashed node, and retries that are due.
+ * The poller hands messages over in batches, and each batch is sent over a single pooled SMTP connection.
+ */
+@Service
+public class EmailOutbox implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutbox.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${email-outbox.max-attempts:8}")
+    private int maxAttempts;
+    @Value("${email-outbox.base-backoff-ms:5000}")
+    private long baseBackoffMs;
+    @Value("${email-outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+    @Value("${email-outbox.lease-seconds:900}")
+    private long leaseSeconds;
+    @Value("${email-outbox.batch-size:20}")
+    private int batchSize;
+    @Value("${mail.pool.borrow-timeout-ms:10000}")
+    private long borrowTimeoutMs;
+    @Value("${spring.mail.properties.mail.smtp.connectiontimeout:10000}")
+    private long connectionTimeoutMs;
+    @Value("${spring.mail.properties.mail.smtp.writetimeout:10000}")
+    private long writeTimeoutMs;
+    @Value("${spring.mail.properties.mail.smtp.timeout:10000}")
+    private long readTimeoutMs;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer sendDuration;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    public EmailOutbox(EmailOutboxRepository emailOutboxRepository, EmailService emailService, MeterRegistry meterRegistry,
+                       @Value("${email-outbox.threads:4}") int threads,
+                       @Value("${email-outbox.queue-capacity:200}") int queueCapacity) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.delivered = Counter.builder("email.outbox.delivered")
+                .description("Emails sent successfully")
+                .register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.failed")
+                .description("Failed email sends")
+                .tag("outcome", "retry")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("email.outbox.failed")
+                .description("Failed email sends")
+                .tag("outcome", "dead")
+                .register(meterRegistry);
+        this.sendDuration = Timer.builder("email.send.duration")
+                .description("Time taken to hand one batch of emails to the mail server")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting to be sent, as of the last poll")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.dead", dead, AtomicLong::get)
+                .description("Dead-lettered emails, as of the last poll")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.oldest.age.seconds", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest email waiting to be sent, as of the last poll")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.executor.queue.size", executor, e -> e.getQueue().size())
+                .description("Batches of emails handed to the worker pool and waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A batch is sent in one go, so its lease has to outlast the slowest possible send of the whole batch:
+     * waiting for a pooled connection, connecting, then writing and awaiting the reply for every message.
+     * A shorter lease would let the poller hand the same messages to a second worker and send them twice.
+     */
+    @PostConstruct
+    void checkLease() {
+        long worstCaseMs = borrowTimeoutMs + connectionTimeoutMs + batchSize * (writeTimeoutMs + readTimeoutMs);
+        long minimumSeconds = TimeUnit.MILLISECONDS.toSeconds(worstCaseMs) + 1;
+        if (leaseSeconds < minimumSeconds) {
+            log.warn("email-outbox.lease-seconds={} is shorter than the worst-case send of a batch of {}; using {} seconds",
+                    leaseSeconds, batchSize, minimumSeconds);
+            leaseSeconds = minimumSeconds;
+        }
+    }
+
+    @Transactional
+    public void queueVerificationEmail(String to, String token) {
+        queue(Type.VERIFICATION, to, token);
+    }
+
+    @Transactional
+    public void queuePasswordResetEmail(String to, String token) {
+        queue(Type.PASSWORD_RESET, to, token);
+    }
+
+    /**
+     * Hands due messages to the worker pool in batches, as many as it can take, and refreshes the outbox gauges.
+     */
+    @Scheduled(fixedDelayString = "${email-outbox.poll-interval-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity > 0) {
+            List<Long> due = emailOutboxRepository.findDueIds(Status.PENDING, now, Limit.of(capacity * batchSize));
+            for (int from = 0; from < due.size(); from += batchSize) {
+                dispatch(List.copyOf(due.subList(from, Math.min(from + batchSize, due.size()))));
+            }
+        }
+        pending.set(emailOutboxRepository.countByStatus(Status.PENDING));
+        dead.set(emailOutboxRepository.countByStatus(Status.DEAD));
+        Instant oldest = emailOutboxRepository.findOldestCreatedAt(Status.PENDING);
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).toSeconds());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        // Anything not sent by then stays in the outbox and is picked up after the restart.
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Private helper methods
+
+    private void queue(Type type, String to, String token) {
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .type(type)
+                .recipient(to)
+                .token(token)
+                .locale(LocaleContextHolder.getLocale().toLanguageTag())
+                .nextAttemptAt(Instant.now())
+                .createdAt(Instant.now())
+                .build());
+        Long id = message.getId();
+        // This method is transactional, so synchronization is always active; after commit means after the caller's commit.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(List.of(id));
+            }
+        });
+        log.info("Queued {} email to {}", type, to);
+    }
+
+    private void dispatch(List<Long> ids) {
+        try {
+            executor.execute(() -> deliver(ids));
+        } catch (RejectedExecutionException e) {
+            log.debug("Email worker pool is full; messages {} are left for the poller", ids);
+        }
+    }
+
+    private void deliver(List<Long> ids) {
+        Instant now = Instant.now();
+        // Identity keys: the mail sender reports failures against the very message objects it was given.
+        Map<MimeMessage, EmailOutboxMessage> batch = new IdentityHashMap<>();
+        // Messages missing from the result were already sent, or are being sent by another worker.
+        for (EmailOutboxMessage message : emailOutboxRepository.claimBatch(ids, now, now.plusSeconds(leaseSeconds))) {
+            try {
+                batch.put(toMailMessage(message), message);
+            } catch (RuntimeException e) {
+                recordFailure(message, e);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<EmailOutboxMessage, RuntimeException> failures = new IdentityHashMap<>();
+        try {
+            sendDuration.record(() -> emailService.send(batch.keySet().toArray(MimeMessage[]::new)));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batch.values().forEach(message -> failures.put(message, e));
+            } else {
+                failedMessages.forEach((mail, cause) -> {
+                    EmailOutboxMessage message = batch.get(mail);
+                    if (message != null) {
+                        failures.put(message, cause instanceof RuntimeException runtime ? runtime : e);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            batch.values().forEach(message -> failures.put(message, e));
+        }
+        List<Long> sent = new ArrayList<>();
+        for (EmailOutboxMessage message : batch.values()) {
+            RuntimeException failure = failures.get(message);
+            if (failure == null) {
+                sent.add(message.getId());
+            } else {
+                recordFailure(message, failure);
+            }
+        }
+        if (!sent.isEmpty()) {
+            emailOutboxRepository.deleteAllByIdInBatch(sent);
+            delivered.increment(sent.size());
+        }
+    }
+
+    private MimeMessage toMailMessage(EmailOutboxMessage message) {
+        Locale locale = message.getLocale() != null ? Locale.forLanguageTag(message.getLocale()) : null;
+        return switch (message.getType()) {
+            case VERIFICATION -> emailService.verificationEmail(message.getRecipient(), message.getToken(), locale);
+            case PASSWORD_RESET -> emailService.passwordResetEmail(message.getRecipient(), message.getToken(), locale);
+        };
+    }
+
+    private void recordFailure(EmailOutboxMessage message, RuntimeException e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(Status.DEAD);
+            deadLettered.increment();
+            log.error("Giving up on {} email to {} after {} attempts: {}", message.getType(), message.getRecipient(), attempts, error);
+        } else {
+            long backoff = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempts - 1, 30));
+            // Up to 20% jitter, so messages that failed together do not all retry together.
+            backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+            message.setNextAttemptAt(Instant.now().plusMillis(backoff));
+            retried.increment();
+            log.warn("Failed to send {} email to {} (attempt {}), retrying in {} ms: {}",
+                    message.getType(), message.getRecipient(), attempts, backoff, error);
+        }
+        emailOutboxRepository.save(message);
+    }
+}
@@ -1,66 +1,88 @@
 package org.com.eventsphere.user.service;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
     private final JavaMailSender mailSender;
+    private final EmailTemplateEngine templateEngine;
 
     @Value("${EMAIL_USERNAME}")
     private String fromEmail;
+    // The public address of this service, which the links in emails point to.
+    @Value("${email.base-url:http://localhost:8081}")
+    private String baseUrl;
 
-    public void sendVerificationEmail(String to, String token) {
+    /**
+     * Sends the email right away. Failures are thrown, so that the EmailOutbox can retry them.
+     * @throws org.springframework.mail.MailException if the mail server rejects or cannot be reached.
+     */
+    public void sendVerificationEmail(String to, String token, Locale locale) {
+        send(verificationEmail(to, token, locale));
+    }
 
-        try {
-            String verificationLink = "http://localhost:8081/api/v1/auth/verify-email?token=" + token;
+    /**
+     * Sends the email right away. Failures are thrown, so that the EmailOutbox can retry them.
+     * @throws org.springframework.mail.MailException if the mail server rejects or cannot be reached.
+     */
+    public void sendPasswordResetEmail(String to, String token, Locale locale) {
+        send(passwordResetEmail(to, token, locale));
+    }
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject("Welcome to EventSphere! Please Verify Your Email");
-            message.setText(
-                        "Thank you for registering with EventSphere!\n\n" +
-                        "Please click the link below to verify your email address and activate your account:\n" +
-                        verificationLink + "\n\n" +
-                        "This link will expire in 24 hours.\n\n" +
-                        "Best regards,\nThe EventSphere Team"
-        );
-        mailSender.send(message);
-        log.info("Verification email sent to {}", to);
-        } catch (Exception e) {
-            // In a production environment, you might want to re-queue this email or alert an admin.
-            // For now, we just log the error without crashing the registration process.
-            log.error("Failed to send verification email to {}: {}", to, e.getMessage());
-        }
+    /**
+     * Sends all messages over one pooled SMTP connection.
+     * @throws org.springframework.mail.MailSendException listing the messages that failed, keyed by message.
+     */
+    public void send(MimeMessage... messages) {
+        mailSender.send(messages);
+        log.info("Sent {} email(s)", messages.length);
     }
 
-    public void sendPasswordResetEmail(String to, String token) {
-        try{
-            String resetLink = "http://localhost:8081/api/v1/auth/reset-password?token=" + token;
+    public MimeMessage verificationEmail(String to, String token, Locale locale) {
+        return build("verification", to, token, locale);
+    }
+
+    public MimeMessage passwordResetEmail(String to, String token, Locale locale) {
+        return build("password-reset", to, token, locale);
+    }
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject("EventSphere Password Reset Request");
-            message.setText(
-                    "We received a request to reset your password for your EventSphere account.\n\n" +
-                    "Please click the link below to reset your password:\n" +
-                    resetLink + "\n\n" +
-                    "If you did not request a password reset, please ignore this email. This link will expire in 1 hour.\n\n" +
-                    "Best regards,\nThe EventSphere Team"
-            );
-            mailSender.send(message);
-            log.info("Password reset email sent to {}", to);
-        }catch (Exception e){
-            log.error("Failed to send password reset email to {}: {}", to, e.getMessage());
+    // Private helper methods
+
+    private MimeMessage build(String template, String to, String token, Locale locale) {
+        EmailTemplateEngine.RenderedEmail email = templateEngine.render(template, locale, Map.of(
+                "baseUrl", baseUrl,
+                "token", token,
+                "email", to));
+        MimeMessage message = mailSender.createMimeMessage();
+        try {
+            // multipart/alternative with a plain text and an HTML part, or plain text only.
+            MimeMessageHelper helper = new MimeMessageHelper(message, email.html() != null, StandardCharsets.UTF_8.name());
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(email.subject());
+            if (email.html() != null) {
+                helper.setText(email.text(), email.html());
+            } else {
+                helper.setText(email.text());
+            }
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Could not build the " + template + " email", e);
         }
+        return message;
     }
 }
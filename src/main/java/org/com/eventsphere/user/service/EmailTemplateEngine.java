@@ -0,0 +1,258 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * EmailTemplateEngine
+ * Renders the emails this service sends from templates under email.templates.location, e.g. verification.tmpl
+ * or verification_de.tmpl for German. A template file holds up to three sections, each introduced by a line
+ * "--- subject", "--- text" or "--- html", and refers to model values as {{name}}. Values are HTML-escaped
+ * in the html section only.
+ * Templates are compiled once, at startup and on hot reload, into an immutable plan of literal and variable
+ * segments, so rendering is a single pass that appends into a per-thread buffer.
+ */
+@Service
+public class EmailTemplateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    private static final String SUFFIX = ".tmpl";
+    private static final String SECTION_MARKER = "--- ";
+    // Buffers that grew past this are dropped instead of kept for reuse.
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    @Value("${email.templates.location:classpath:email-templates/}")
+    private String location;
+    @Value("${email.templates.default-locale:en}")
+    private String defaultLocale;
+    @Value("${email.templates.hot-reload:false}")
+    private boolean hotReload;
+
+    // Immutable snapshot, replaced as a whole on every reload.
+    private volatile TemplateSet templates = new TemplateSet(Map.of(), "");
+
+    @PostConstruct
+    void init() {
+        templates = load();
+        log.info("Compiled {} email template(s) from {}", templates.byName().size(), location);
+    }
+
+    /**
+     * Renders a template in the variant closest to the given locale: language and country, then language,
+     * then the default locale, then the template without a locale suffix.
+     * @param name The template name, e.g. "verification".
+     * @param locale The recipient's locale, or null for the default locale.
+     * @param model The values the template refers to.
+     * @return The rendered email. The html part is null if the template has no html section.
+     * @throws IllegalArgumentException if there is no such template.
+     */
+    public RenderedEmail render(String name, Locale locale, Map<String, String> model) {
+        CompiledTemplate template = resolve(name, locale);
+        StringBuilder buffer = buffers.get();
+        try {
+            return new RenderedEmail(
+                    template.subject().render(model, buffer),
+                    template.text().render(model, buffer),
+                    template.html() != null ? template.html().render(model, buffer) : null);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove();
+            }
+        }
+    }
+
+    /**
+     * Recompiles the templates when any file changed. A template that fails to compile leaves the previous
+     * set in place.
+     */
+    @Scheduled(fixedDelayString = "${email.templates.reload-interval-ms:5000}")
+    public void reloadIfChanged() {
+        if (!hotReload) {
+            return;
+        }
+        try {
+            if (!fingerprint(resources()).equals(templates.fingerprint())) {
+                templates = load();
+                log.info("Reloaded {} email template(s) from {}", templates.byName().size(), location);
+            }
+        } catch (RuntimeException | IOException e) {
+            log.error("Could not reload email templates from {}; keeping the previous ones", location, e);
+        }
+    }
+
+    // Private helper methods
+
+    private CompiledTemplate resolve(String name, Locale locale) {
+        Map<String, CompiledTemplate> byName = templates.byName();
+        if (locale != null && !locale.getLanguage().isEmpty()) {
+            CompiledTemplate template = locale.getCountry().isEmpty() ? null
+                    : byName.get(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+            if (template == null) {
+                template = byName.get(name + "_" + locale.getLanguage());
+            }
+            if (template != null) {
+                return template;
+            }
+        }
+        CompiledTemplate template = byName.get(name + "_" + defaultLocale);
+        if (template == null) {
+            template = byName.get(name);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("No email template named " + name);
+        }
+        return template;
+    }
+
+    private TemplateSet load() {
+        try {
+            Resource[] resources = resources();
+            Map<String, CompiledTemplate> byName = new HashMap<>();
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                String name = filename.substring(0, filename.length() - SUFFIX.length());
+                try (InputStream in = resource.getInputStream()) {
+                    byName.put(name, compile(filename, new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+            return new TemplateSet(Map.copyOf(byName), fingerprint(resources));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read email templates from " + location, e);
+        }
+    }
+
+    private Resource[] resources() throws IOException {
+        String base = location.endsWith("/") ? location : location + "/";
+        return resourceResolver.getResources(base + "*" + SUFFIX);
+    }
+
+    private static String fingerprint(Resource[] resources) throws IOException {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Resource resource : resources) {
+            fingerprint.append(resource.getFilename()).append(':')
+                    .append(resource.lastModified()).append(':')
+                    .append(resource.contentLength()).append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    private static CompiledTemplate compile(String filename, String source) {
+        Map<String, StringBuilder> sections = new HashMap<>();
+        StringBuilder current = null;
+        for (String line : source.split("\r?\n", -1)) {
+            if (line.startsWith(SECTION_MARKER)) {
+                String section = line.substring(SECTION_MARKER.length()).trim();
+                if (!section.equals("subject") && !section.equals("text") && !section.equals("html")) {
+                    throw new IllegalStateException(filename + ": unknown section " + section);
+                }
+                current = new StringBuilder();
+                sections.put(section, current);
+            } else if (current != null) {
+                current.append(line).append('\n');
+            } else if (!line.isBlank()) {
+                throw new IllegalStateException(filename + ": content before the first section");
+            }
+        }
+        if (!sections.containsKey("subject") || !sections.containsKey("text")) {
+            throw new IllegalStateException(filename + ": a subject and a text section are required");
+        }
+        return new CompiledTemplate(
+                parse(filename, sections.get("subject").toString().strip(), false),
+                parse(filename, stripTrailingNewlines(sections.get("text")), false),
+                sections.containsKey("html") ? parse(filename, stripTrailingNewlines(sections.get("html")), true) : null);
+    }
+
+    private static Section parse(String filename, String body, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = body.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = body.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalStateException(filename + ": unclosed {{ at offset " + open);
+            }
+            literals.add(body.substring(position, open));
+            variables.add(body.substring(open + 2, close).trim());
+            position = close + 2;
+        }
+        literals.add(body.substring(position));
+        return new Section(literals.toArray(String[]::new), variables.toArray(String[]::new), escapeHtml);
+    }
+
+    private static String stripTrailingNewlines(StringBuilder section) {
+        int end = section.length();
+        while (end > 0 && section.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return section.substring(0, end);
+    }
+
+    private static void appendHtmlEscaped(StringBuilder buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '&' -> buffer.append("&amp;");
+                case '"' -> buffer.append("&quot;");
+                case '\'' -> buffer.append("&#39;");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    public record RenderedEmail(String subject, String text, String html) {
+    }
+
+    private record CompiledTemplate(Section subject, Section text, Section html) {
+    }
+
+    // literals has exactly one element more than variables; they interleave, starting with a literal.
+    private record Section(String[] literals, String[] variables, boolean escapeHtml) {
+
+        String render(Map<String, String> model, StringBuilder buffer) {
+            buffer.setLength(0);
+            buffer.append(literals[0]);
+            for (int i = 0; i < variables.length; i++) {
+                String value = model.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("No value for template variable " + variables[i]);
+                }
+                if (escapeHtml) {
+                    appendHtmlEscaped(buffer, value);
+                } else {
+                    buffer.append(value);
+                }
+                buffer.append(literals[i + 1]);
+            }
+            return buffer.toString();
+        }
+    }
+
+    private record TemplateSet(Map<String, CompiledTemplate> byName, String fingerprint) {
+    }
+}
@@ -0,0 +1,109 @@
+package org.com.eventsphere.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * ExpiredTokenSweeper
+ * Deletes expired refresh tokens and verification tokens in the background, so neither table grows without bound.
+ * Rows are deleted in chunks of chunk-size, each in its own statement and therefore its own commit, so no run holds
+ * long locks or builds one huge transaction. Chunks are found through the expiryDate indexes.
+ * Only one node sweeps at a time: the sweeper holds a session-level Postgres advisory lock on one connection
+ * for the duration of the run, while the chunks are deleted through other connections.
+ */
+@Service
+public class ExpiredTokenSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredTokenSweeper.class);
+
+    // Arbitrary but fixed advisory lock key shared by every node that sweeps tokens.
+    private static final long SWEEP_LOCK_KEY = 0x746F6B656E2D7377L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer duration;
+
+    @Value("${token-sweeper.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${token-sweeper.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    public ExpiredTokenSweeper(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.duration = Timer.builder("token.sweeper.duration")
+                .description("Time taken by one run of the expired token sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${token-sweeper.interval-ms:600000}", initialDelayString = "${token-sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                log.debug("Another node is sweeping expired tokens");
+                return null;
+            }
+            try {
+                duration.record(() -> {
+                    Instant now = Instant.now();
+                    sweepTable("refresh_tokens", "refreshTokenId", now);
+                    sweepTable("verification_tokens", "id", now);
+                });
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, SWEEP_LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    // Private helper methods
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            lock.setLong(1, SWEEP_LOCK_KEY);
+            try (ResultSet resultSet = lock.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void sweepTable(String table, String idColumn, Instant now) {
+        Counter deletedCounter = Counter.builder("token.sweeper.deleted")
+                .description("Expired tokens deleted by the sweeper")
+                .tag("table", table)
+                .register(meterRegistry);
+        // SKIP LOCKED leaves rows that a request is using right now for the next run.
+        String sql = "DELETE FROM " + table + " WHERE " + idColumn + " IN ("
+                + "SELECT " + idColumn + " FROM " + table + " WHERE expiryDate < ? LIMIT ? FOR UPDATE SKIP LOCKED)";
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int deleted = jdbcTemplate.update(sql, Timestamp.from(now), chunkSize);
+            deletedCounter.increment(deleted);
+            total += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Deleted {} expired row(s) from {}", total, table);
+        }
+    }
+}
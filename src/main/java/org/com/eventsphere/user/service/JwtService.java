@@ -1,21 +1,31 @@
 package org.com.eventsphere.user.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.security.VerifiedClaims;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
     // These values are injected from application properties
 
@@ -24,6 +34,20 @@ public class JwtService {
     @Value("${JWT_EXPIRATION}")
     private Long jwtExpirationMs;
 
+    private final SigningKeyService signingKeyService;
+
+    // Built once at startup. Both the key and the parser are immutable and safe to share between request threads.
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .keyLocator(this::locateVerificationKey)
+                .build();
+    }
+
     /**
      * Generates a JWT for a given user.
      * @param userDetails The user for whom the token is to be generated.
@@ -35,18 +59,39 @@ public class JwtService {
         if(userDetails instanceof User) {
             claims.put("roles", ((User) userDetails).getRole().name());
             claims.put("userId", ((User) userDetails).getUserId());
+            claims.put("ver", ((User) userDetails).getTokenVersion());
         }
         return buildToken(claims, userDetails);
     }
 
     /**
-     * Extracts the username (email in our case) from a JWT.
+     * Parses the JWT and verifies its signature and expiry exactly once.
+     * @param token The JWT string.
+     * @return The verified claims of the token.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired.
+     */
+    public VerifiedClaims verifyToken(String token) {
+        return toVerifiedClaims(jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    /**
+     * Reads the claims of a token that was rejected only because it has expired.
+     * jjwt checks the signature before the expiry, so these claims are still authentic.
+     * @param e The exception thrown by {@link #verifyToken(String)}.
+     * @return The verified, but expired, claims.
+     */
+    public VerifiedClaims readExpiredClaims(ExpiredJwtException e) {
+        return toVerifiedClaims(e.getClaims());
+    }
+
+    /**
+     * Extracts the username (email) from a JWT.
      * @param token The JWT string.
      * @return The username.
      */
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     /**
@@ -57,45 +102,54 @@ public class JwtService {
      * @return true if the token is valid, false otherwise.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()));
+        return isTokenValid(verifyToken(token), userDetails);
     }
 
-    // Private helper methods
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Validates already verified claims against a user, without parsing the token again.
+     * @param claims The claims returned by {@link #verifyToken(String)}.
+     * @param userDetails The user to validate against.
+     * @return true if the claims belong to the user and have not expired, false otherwise.
+     */
+    public boolean isTokenValid(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.subject() != null
+                && claims.subject().equals(userDetails.getUsername())
+                && !claims.isExpired();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    // Private helper methods
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsTFunction) {
-        final Claims claims = extractAllClaims(token);
-        return claimsTFunction.apply(claims);
+    private VerifiedClaims toVerifiedClaims(Claims claims) {
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("roles", String.class),
+                claims.get("ver", Integer.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs));
+        if (signingKeyService.isAsymmetric()) {
+            SigningKeyService.LoadedKey key = signingKeyService.currentSigningKey();
+            return builder.header().keyId(key.kid()).and()
+                    .signWith(key.privateKey())
+                    .compact();
+        }
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Key locateVerificationKey(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        // Tokens without a key ID are signed with the shared HMAC secret.
+        return kid == null ? signingKey : signingKeyService.findPublicKey(kid);
     }
 }
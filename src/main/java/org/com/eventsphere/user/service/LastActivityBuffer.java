@@ -0,0 +1,91 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LastActivityBuffer
+ * Coalesces last-login / last-active timestamps in memory and writes them to the users table in batches.
+ * Only the latest timestamp per user is kept, so a user active many times between flushes costs one row update.
+ * The buffer is a ConcurrentHashMap, whose per-bin locking keeps concurrent recorders from contending on one lock.
+ * Timestamps reach the database at most max-staleness-ms after they are recorded, and on shutdown.
+ */
+@Service
+@RequiredArgsConstructor
+public class LastActivityBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LastActivityBuffer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${activity-buffer.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the user was active at the given time. Older timestamps never overwrite newer ones.
+     */
+    public void record(Long userId, LocalDateTime timestamp) {
+        pending.merge(userId, timestamp, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    /**
+     * Writes all buffered timestamps, one UPDATE ... FROM (VALUES ...) statement per batch.
+     */
+    @Scheduled(fixedDelayString = "${activity-buffer.max-staleness-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> snapshot = new ArrayList<>(pending.size());
+        pending.forEach((userId, timestamp) -> snapshot.add(Map.entry(userId, timestamp)));
+
+        int written = 0;
+        for (int from = 0; from < snapshot.size(); from += batchSize) {
+            List<Map.Entry<Long, LocalDateTime>> batch = snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                // Entries stay buffered and are retried on the next flush.
+                log.error("Failed to flush {} last-activity timestamps", batch.size(), e);
+                continue;
+            }
+            // Only drop entries that were not updated again while the batch was being written.
+            batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+            written += batch.size();
+        }
+        log.debug("Flushed {} last-activity timestamps", written);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // Private helper methods
+
+    private void writeBatch(List<Map.Entry<Long, LocalDateTime>> batch) {
+        StringBuilder sql = new StringBuilder("UPDATE users AS u SET last_login_at = v.ts FROM (VALUES ");
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::bigint, ?::timestamp)");
+            args[i * 2] = batch.get(i).getKey();
+            args[i * 2 + 1] = batch.get(i).getValue();
+        }
+        sql.append(") AS v(id, ts) WHERE u.userId = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.ts)");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+}
@@ -0,0 +1,167 @@
+package org.com.eventsphere.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * LoginAttemptJournal
+ * Records login attempts without a synchronous database write. Attempts go into a fixed-size, lock-free ring buffer
+ * and a background writer drains it into multi-row INSERTs. When the buffer is full, new attempts are dropped
+ * and counted rather than slowing down the login path.
+ */
+@Service
+public class LoginAttemptJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptJournal.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RingBuffer buffer;
+    private final int batchSize;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter written;
+
+    public LoginAttemptJournal(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${login-attempts.journal.capacity:65536}") int capacity,
+                               @Value("${login-attempts.journal.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new RingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.recorded = Counter.builder("login.attempts.recorded")
+                .description("Login attempts accepted into the journal")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("login.attempts.dropped")
+                .description("Login attempts dropped because the journal was full")
+                .register(meterRegistry);
+        this.written = Counter.builder("login.attempts.written")
+                .description("Login attempts written to the database")
+                .register(meterRegistry);
+        Gauge.builder("login.attempts.journal.depth", buffer, RingBuffer::size)
+                .description("Login attempts waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a login attempt for writing. Never blocks; drops the attempt if the journal is full.
+     */
+    public void record(String email, boolean successful) {
+        if (buffer.offer(new Attempt(email, successful, LocalDateTime.now()))) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+            log.warn("Login attempt journal is full; dropped attempt for email: {}", email);
+        }
+    }
+
+    /**
+     * Drains the journal into the login_attempts table, batchSize rows per INSERT statement.
+     */
+    @Scheduled(fixedDelayString = "${login-attempts.journal.flush-interval-ms:1000}")
+    public synchronized void drain() {
+        List<Attempt> batch = new ArrayList<>(batchSize);
+        Attempt attempt;
+        while ((attempt = buffer.poll()) != null) {
+            batch.add(attempt);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    void drainOnShutdown() {
+        drain();
+    }
+
+    // Private helper methods
+
+    private void writeBatch(List<Attempt> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO login_attempts (email, successful, timestamp) VALUES ");
+        Object[] args = new Object[batch.size() * 3];
+        for (int i = 0; i < batch.size(); i++) {
+            Attempt attempt = batch.get(i);
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+            args[i * 3] = attempt.email();
+            args[i * 3 + 1] = attempt.successful();
+            args[i * 3 + 2] = attempt.timestamp();
+        }
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            // The journal is an audit trail, not a source of truth; a failed batch is counted and dropped.
+            dropped.increment(batch.size());
+            log.error("Failed to write {} login attempts", batch.size(), e);
+        }
+    }
+
+    private record Attempt(String email, boolean successful, LocalDateTime timestamp) {
+    }
+
+    /**
+     * A bounded multi-producer, single-consumer ring buffer. Producers claim a slot with a CAS on the tail
+     * and then publish into it; the consumer treats an unpublished slot as the end of the available data.
+     */
+    private static final class RingBuffer {
+        private final AtomicReferenceArray<Attempt> slots;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        boolean offer(Attempt attempt) {
+            while (true) {
+                long currentTail = tail.get();
+                if (currentTail - head.get() >= slots.length()) {
+                    return false;
+                }
+                if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                    slots.set((int) (currentTail & mask), attempt);
+                    return true;
+                }
+            }
+        }
+
+        // Must only be called by one thread at a time.
+        Attempt poll() {
+            long currentHead = head.get();
+            int index = (int) (currentHead & mask);
+            Attempt attempt = slots.get(index);
+            if (attempt == null) {
+                return null;
+            }
+            slots.set(index, null);
+            head.set(currentHead + 1);
+            return attempt;
+        }
+
+        int size() {
+            return (int) (tail.get() - head.get());
+        }
+    }
+}
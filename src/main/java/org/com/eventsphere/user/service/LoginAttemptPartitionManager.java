@@ -0,0 +1,243 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * LoginAttemptPartitionManager
+ * Keeps login_attempts range-partitioned on timestamp, by day or by month.
+ * On startup it converts a plain login_attempts table (as created by Hibernate) into a partitioned one, keeping
+ * the rows still inside the retention window. A scheduled job then creates partitions ahead of time and drops
+ * partitions that have fallen entirely out of the retention window, which is a catalog change instead of a DELETE.
+ * Rows with no partition of their own, e.g. because a run was missed or a clock was off, land in the default
+ * partition. They are moved out as soon as a partition for them is created, and expire from there like any other.
+ * The (email, timestamp DESC, id DESC) index is declared on the LoginAttempt entity, and Postgres creates it on every partition.
+ */
+@Service
+public class LoginAttemptPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptPartitionManager.class);
+
+    // Arbitrary but fixed advisory lock key shared by every node that maintains the partitions.
+    private static final long PARTITION_LOCK_KEY = 0x6C6F67696E2D7061L;
+    private static final String TABLE = "login_attempts";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String DEFAULT_PARTITION = PARTITION_PREFIX + "default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${login-attempts.partitioning.interval:MONTH}")
+    private Interval interval;
+    @Value("${login-attempts.partitioning.retention-days:90}")
+    private int retentionDays;
+    @Value("${login-attempts.partitioning.premake:3}")
+    private int premake;
+
+    // Depends on the EntityManagerFactory so that Hibernate has created or updated the schema first.
+    public LoginAttemptPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Blocks until any other node has finished, after which the table is already partitioned.
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, PARTITION_LOCK_KEY);
+            if (!isPartitioned()) {
+                convertToPartitioned();
+            }
+            createPartitions();
+            // Superseded by idx_login_attempt_email_timestamp_id, which also serves keyset pagination.
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_login_attempt_email_timestamp");
+        });
+    }
+
+    /**
+     * Creates the partitions for the current and the next few periods, and drops expired ones.
+     * Only one node at a time does the work.
+     */
+    @Scheduled(cron = "${login-attempts.partitioning.cron:0 15 0 * * *}")
+    public void maintain() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PARTITION_LOCK_KEY);
+            if (Boolean.TRUE.equals(locked)) {
+                createPartitions();
+                dropExpiredPartitions();
+            }
+        });
+    }
+
+    // Private helper methods
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    private void convertToPartitioned() {
+        LocalDateTime cutoff = retentionCutoff();
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM " + TABLE, Long.class);
+
+        // 1. Move the plain table out of the way.
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_legacy");
+        for (String index : List.of("idx_login_attempt_email", "idx_login_attempt_email_timestamp", "idx_login_attempt_email_timestamp_id")) {
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + index + " RENAME TO " + index + "_legacy");
+        }
+
+        // 2. Create the partitioned table. Partitioned tables cannot have identity columns before Postgres 17,
+        //    so ids come from a plain sequence, and the primary key has to include the partition key.
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + TABLE + "_seq");
+        jdbcTemplate.queryForObject("SELECT setval('" + TABLE + "_seq', ?)", Long.class, maxId + 1);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " ("
+                + "id bigint NOT NULL DEFAULT nextval('" + TABLE + "_seq'), "
+                + "email varchar(255) NOT NULL, "
+                + "successful boolean NOT NULL, "
+                + "timestamp timestamp(6) NOT NULL, "
+                + "PRIMARY KEY (id, timestamp)"
+                + ") PARTITION BY RANGE (timestamp)");
+        jdbcTemplate.execute("ALTER SEQUENCE " + TABLE + "_seq OWNED BY " + TABLE + ".id");
+        jdbcTemplate.execute("CREATE INDEX idx_login_attempt_email_timestamp_id ON " + TABLE + " (email, timestamp DESC, id DESC)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        // 3. Create the partitions that the retained rows fall into, then copy them over.
+        for (LocalDate start = periodStart(cutoff.toLocalDate()); !start.isAfter(LocalDate.now()); start = next(start)) {
+            createPartition(start);
+        }
+        int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " (id, email, successful, timestamp) "
+                + "SELECT id, email, successful, timestamp FROM " + TABLE + "_legacy WHERE timestamp >= ?", cutoff);
+        jdbcTemplate.execute("DROP TABLE " + TABLE + "_legacy");
+        log.info("Converted {} to a table partitioned by {}, keeping {} row(s) newer than {}", TABLE, interval, copied, cutoff);
+    }
+
+    private void createPartitions() {
+        LocalDate start = periodStart(LocalDate.now());
+        // Past periods whose rows went to the default partition get their partition late, within retention.
+        LocalDateTime oldest = tableExists(DEFAULT_PARTITION)
+                ? jdbcTemplate.queryForObject("SELECT min(timestamp) FROM " + DEFAULT_PARTITION, LocalDateTime.class)
+                : null;
+        if (oldest != null) {
+            LocalDateTime from = oldest.isAfter(retentionCutoff()) ? oldest : retentionCutoff();
+            for (LocalDate past = periodStart(from.toLocalDate()); past.isBefore(start); past = next(past)) {
+                createPartition(past);
+            }
+        }
+        for (int i = 0; i <= premake; i++) {
+            createPartition(start);
+            start = next(start);
+        }
+    }
+
+    private void createPartition(LocalDate start) {
+        String name = partitionName(start);
+        if (tableExists(name)) {
+            return;
+        }
+        String bounds = " FOR VALUES FROM ('" + start + "') TO ('" + next(start) + "')";
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = next(start).atStartOfDay();
+        boolean stranded = tableExists(DEFAULT_PARTITION) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                Boolean.class, from, to));
+        if (!stranded) {
+            jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE + bounds);
+            return;
+        }
+        // Postgres refuses a partition for rows the default partition already holds, so the default partition is
+        // detached while they move. The callers run this in one transaction, so it is all or nothing.
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE + bounds);
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE timestamp >= ? AND timestamp < ? RETURNING id, email, successful, timestamp) "
+                + "INSERT INTO " + name + " (id, email, successful, timestamp) SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.warn("Moved {} login attempt(s) from the default partition into the new partition {}", moved, name);
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDateTime cutoff = retentionCutoff();
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? AND c.relname LIKE ?",
+                String.class, TABLE, PARTITION_PREFIX + "%");
+        for (String partition : partitions) {
+            LocalDate start = parsePartitionStart(partition);
+            // A partition is dropped only once every row it can hold is older than the cutoff.
+            if (start != null && !next(start).atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired login attempt partition {}", partition);
+            }
+        }
+        if (tableExists(DEFAULT_PARTITION)) {
+            int purged = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < ?", cutoff);
+            if (purged > 0) {
+                log.info("Deleted {} expired login attempt(s) from the default partition", purged);
+            }
+        }
+    }
+
+    private boolean tableExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private LocalDateTime retentionCutoff() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    private LocalDate periodStart(LocalDate date) {
+        return interval == Interval.MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    private LocalDate next(LocalDate start) {
+        return start.plus(1, interval == Interval.MONTH ? ChronoUnit.MONTHS : ChronoUnit.DAYS);
+    }
+
+    private String partitionName(LocalDate start) {
+        return PARTITION_PREFIX + start.format(interval.format);
+    }
+
+    private LocalDate parsePartitionStart(String partition) {
+        String suffix = partition.substring(PARTITION_PREFIX.length());
+        try {
+            if (suffix.length() == 8) {
+                return LocalDate.parse(suffix, Interval.DAY.format);
+            }
+            if (suffix.length() == 6) {
+                return LocalDate.parse(suffix + "01", Interval.DAY.format);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring login attempt partition with an unexpected name: {}", partition);
+        }
+        // The default partition, or a table this manager did not create.
+        return null;
+    }
+
+    public enum Interval {
+        DAY(DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTH(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final DateTimeFormatter format;
+
+        Interval(DateTimeFormatter format) {
+            this.format = format;
+        }
+    }
+}
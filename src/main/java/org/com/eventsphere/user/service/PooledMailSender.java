@@ -0,0 +1,217 @@
+package org.com.eventsphere.user.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PooledMailSender
+ * A JavaMailSenderImpl that keeps authenticated SMTP connections open between sends instead of paying for a TCP
+ * connect, STARTTLS handshake and AUTH on every call. All messages passed to one send call go over one connection.
+ * - At most max-connections are open at once; callers wait up to borrow-timeout-ms for one.
+ * - A connection is closed after max-messages-per-connection messages, since providers limit that.
+ * - Idle connections are closed after idle-timeout-ms, before the server drops them.
+ * - A connection idle for longer than validate-after-idle-ms is checked with an SMTP NOOP before reuse.
+ * - A connection is checked again when it is returned, and closed rather than pooled if it was dropped.
+ */
+public class PooledMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledMailSender.class);
+
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMs;
+    private final long validateAfterIdleMs;
+    private final long borrowTimeoutMs;
+
+    public PooledMailSender(int maxConnections, int maxMessagesPerConnection, long idleTimeoutMs,
+                            long validateAfterIdleMs, long borrowTimeoutMs, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConnections);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        Gauge.builder("mail.pool.connections.idle", idle, BlockingDeque::size)
+                .description("Open SMTP connections waiting to be reused")
+                .register(meterRegistry);
+        Gauge.builder("mail.pool.connections.active", this, sender -> maxConnections - sender.permits.availablePermits() - sender.idle.size())
+                .description("SMTP connections currently sending")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledConnection connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                try {
+                    if (connection == null || connection.messagesSent >= maxMessagesPerConnection) {
+                        release(connection);
+                        connection = null;
+                        connection = borrow();
+                    }
+                    prepare(mimeMessages[i]);
+                    try {
+                        sendOne(connection, mimeMessages[i]);
+                    } catch (MessagingException e) {
+                        if (connection.transport.isConnected()) {
+                            // The server rejected this message, but the connection is still usable.
+                            throw e;
+                        }
+                        // The connection broke; retry the message once on a fresh one.
+                        discard(connection);
+                        connection = null;
+                        connection = borrow();
+                        sendOne(connection, mimeMessages[i]);
+                    }
+                } catch (MailException e) {
+                    // No connection could be had, so neither this message nor any after it was sent.
+                    for (int j = i; j < mimeMessages.length; j++) {
+                        failedMessages.put(original(mimeMessages, originalMessages, j), e);
+                    }
+                    break;
+                } catch (MessagingException | RuntimeException e) {
+                    failedMessages.put(original(mimeMessages, originalMessages, i), e);
+                    if (connection != null && !connection.transport.isConnected()) {
+                        // The retry broke its connection too, or a dropped one failed outside MessagingException.
+                        discard(connection);
+                        connection = null;
+                    }
+                }
+            }
+        } finally {
+            release(connection);
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle for longer than idle-timeout-ms.
+     */
+    @Scheduled(fixedDelayString = "${mail.pool.eviction-interval-ms:15000}")
+    public void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection connection : idle) {
+            if (now - connection.lastUsedMillis > idleTimeoutMs && idle.remove(connection)) {
+                discard(connection);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            discard(connection);
+        }
+    }
+
+    // Private helper methods
+
+    private PooledConnection borrow() {
+        PooledConnection connection;
+        // Most recently used first, so surplus connections go idle and are evicted.
+        while ((connection = idle.pollFirst()) != null) {
+            long idleMillis = System.currentTimeMillis() - connection.lastUsedMillis;
+            if (idleMillis > idleTimeoutMs) {
+                discard(connection);
+            } else if (idleMillis > validateAfterIdleMs && !connection.transport.isConnected()) {
+                // For SMTP, isConnected() sends a NOOP.
+                discard(connection);
+            } else {
+                return connection;
+            }
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            Transport transport = connectTransport();
+            log.debug("Opened pooled SMTP connection to {}", getHost());
+            return new PooledConnection(transport);
+        } catch (AuthenticationFailedException e) {
+            permits.release();
+            throw new MailAuthenticationException(e);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw new MailSendException("Could not connect to the mail server", e);
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        // A connection the server dropped must not be handed out again without the NOOP check.
+        if (connection.messagesSent >= maxMessagesPerConnection || !connection.transport.isConnected()) {
+            discard(connection);
+        } else {
+            connection.lastUsedMillis = System.currentTimeMillis();
+            idle.offerFirst(connection);
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void sendOne(PooledConnection connection, MimeMessage message) throws MessagingException {
+        connection.transport.sendMessage(message, message.getAllRecipients());
+        connection.messagesSent++;
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+    }
+
+    private static final class PooledConnection {
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
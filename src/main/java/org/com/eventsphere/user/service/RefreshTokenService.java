@@ -1,40 +1,81 @@
 package org.com.eventsphere.user.service;
 
-import lombok.RequiredArgsConstructor;
 import org.com.eventsphere.user.dto.AuthenticationResponse;
 import org.com.eventsphere.user.entity.RefreshToken;
 import org.com.eventsphere.user.entity.User;
 import org.com.eventsphere.user.exception.TokenRefreshException;
+import org.com.eventsphere.user.exception.UserNotFoundException;
 import org.com.eventsphere.user.repository.RefreshTokenRepository;
 import org.com.eventsphere.user.mapper.UserMapper;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.security.RefreshTokenCache;
+import org.com.eventsphere.user.security.UserDetailsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * RefreshTokenService
+ * Manages refresh-token sessions. Every login starts a new session (a token family), so a user can stay signed in
+ * on several devices at once, up to max-sessions; beyond that the least recently used sessions are ended.
+ * With rotate-on-use, each refresh exchanges the presented token for a new one in the same family. Presenting a
+ * token that was already exchanged means it has leaked, so the whole session is revoked.
+ */
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService {
 
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
     private final UserMapper userMapper;
+    private final UserRepository userRepository;
+    private final RefreshTokenCache refreshTokenCache;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate transactionTemplate;
 
     private final long refreshTokenDurationMs = 7 * 24 * 60 * 60 * 1000; // 7 days
 
-    @Transactional
-    public RefreshToken createOrUpdateRefreshToken(User user) {
-        // Delete any existing refresh token for this user
-        refreshTokenRepository.deleteByUser(user);
+    @Value("${jwt.refresh-token.rotate-on-use:true}")
+    private boolean rotateOnUse;
+    @Value("${jwt.refresh-token.max-sessions:10}")
+    private int maxSessions;
 
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
-        return refreshTokenRepository.save(refreshToken);
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtService jwtService, UserMapper userMapper,
+                               UserRepository userRepository, RefreshTokenCache refreshTokenCache,
+                               UserDetailsCache userDetailsCache, PlatformTransactionManager transactionManager) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.userMapper = userMapper;
+        this.userRepository = userRepository;
+        this.refreshTokenCache = refreshTokenCache;
+        this.userDetailsCache = userDetailsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts a new session for the user. Logging in again with the same deviceId replaces that device's session.
+     * @param deviceId Optional client-supplied device identifier.
+     * @return The new refresh token value.
+     */
+    @Transactional
+    public String createRefreshToken(User user, String deviceId) {
+        int replaced = deviceId != null ? refreshTokenRepository.deleteByUserIdAndDeviceId(user.getUserId(), deviceId) : 0;
+        String token = issue(user.getUserId(), user.getEmail(), UUID.randomUUID().toString(), deviceId);
+        int evicted = refreshTokenRepository.deleteLeastRecentlyUsedSessions(user.getUserId(), maxSessions);
+        if (replaced > 0 || evicted > 0) {
+            refreshTokenCache.invalidateUser(user.getUserId());
+            log.info("Ended {} previous session(s) for user ID: {}", evicted + (replaced > 0 ? 1 : 0), user.getUserId());
+        }
+        return token;
     }
 
     public Optional<RefreshToken> findByToken(String token){
@@ -49,30 +90,122 @@ public class RefreshTokenService {
         return token;
     }
 
-    @Transactional
+    /**
+     * Issues a new access token for a refresh token and, with rotate-on-use, a new refresh token too.
+     * A token issued or looked up recently is served from the RefreshTokenCache and its user from the
+     * UserDetailsCache; otherwise the token and its user are loaded in one query. Without rotation a cache hit
+     * runs no statement at all. Rotation costs one conditional UPDATE and one INSERT, in a transaction of their own,
+     * so no connection is held outside it.
+     * A detected reuse revokes the session in its own transaction and then fails, so the revocation is kept.
+     */
     public AuthenticationResponse generateNewAccessToken(String requestRefreshToken) {
-        User user = findByToken(requestRefreshToken)
-                .map(this::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .orElseThrow(() -> new TokenRefreshException(requestRefreshToken, "Refresh token is not in the database!"));
+        RefreshTokenCache.Entry session = findSession(requestRefreshToken);
+        if (session.isExpired()) {
+            deleteByToken(requestRefreshToken);
+            throw new TokenRefreshException(requestRefreshToken, "Refresh token was expired. Please make a new signin request.");
+        }
+
+        String refreshToken = requestRefreshToken;
+        if (rotateOnUse) {
+            refreshToken = transactionTemplate.execute(status -> rotate(requestRefreshToken, session));
+            if (refreshToken == null) {
+                revokeReusedSession(requestRefreshToken, session);
+            }
+        }
 
+        User user;
+        try {
+            user = userDetailsCache.get(session.email(), email -> userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email)));
+        } catch (UserNotFoundException e) {
+            refreshTokenCache.invalidate(requestRefreshToken);
+            throw new TokenRefreshException(requestRefreshToken, "Refresh token is not in the database!");
+        }
         String newAccessToken = jwtService.generateToken(user);
 
         // Using the independent UserMapper to build the response.
         return AuthenticationResponse.builder()
                 .accessToken(newAccessToken)
-                .refreshToken(requestRefreshToken)
+                .refreshToken(refreshToken)
                 .user(userMapper.toUserResponse(user))
                 .build();
     }
 
+    /**
+     * Ends the session the token belongs to, i.e. logs out one device.
+     */
     @Transactional
     public void deleteByToken(String token) {
-        refreshTokenRepository.findByToken(token).ifPresent(refreshTokenRepository::delete);
+        refreshTokenRepository.findByToken(token).ifPresent(refreshToken -> {
+            refreshTokenRepository.deleteByFamilyId(refreshToken.getFamilyId());
+            refreshTokenCache.invalidateUser(refreshToken.getUser().getUserId());
+        });
+        refreshTokenCache.invalidate(token);
     }
 
+    /**
+     * Ends every session of the user.
+     */
     @Transactional
     public void deleteByUser(User user) {
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenRepository.deleteByUserId(user.getUserId());
+        refreshTokenCache.invalidateUser(user.getUserId());
+    }
+
+    // Private helper methods
+
+    /**
+     * Exchanges the presented token for a new one in the same family.
+     * @return The new token, or null if the presented one was already exchanged.
+     */
+    private String rotate(String requestRefreshToken, RefreshTokenCache.Entry session) {
+        if (refreshTokenRepository.markRotated(requestRefreshToken, Instant.now()) == 0) {
+            return null;
+        }
+        refreshTokenCache.invalidate(requestRefreshToken);
+        return issue(session.userId(), session.email(), session.familyId(), session.deviceId());
+    }
+
+    // Takes the owner's id and email rather than a User, so that rotating a cached session never loads the user.
+    private String issue(Long userId, String email, String familyId, String deviceId) {
+        Instant now = Instant.now();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .token(UUID.randomUUID().toString())
+                .user(userRepository.getReferenceById(userId))
+                .familyId(familyId)
+                .deviceId(deviceId)
+                .issuedAt(now)
+                .expiryDate(now.plusMillis(refreshTokenDurationMs))
+                .build();
+        refreshTokenRepository.save(refreshToken);
+        refreshTokenCache.put(refreshToken.getToken(), new RefreshTokenCache.Entry(
+                userId, email, familyId, deviceId, refreshToken.getExpiryDate()));
+        return refreshToken.getToken();
+    }
+
+    private RefreshTokenCache.Entry findSession(String requestRefreshToken) {
+        RefreshTokenCache.Entry cached = refreshTokenCache.get(requestRefreshToken);
+        if (cached != null) {
+            return cached;
+        }
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenWithUser(requestRefreshToken)
+                .orElseThrow(() -> new TokenRefreshException(requestRefreshToken, "Refresh token is not in the database!"));
+        User user = refreshToken.getUser();
+        RefreshTokenCache.Entry session = new RefreshTokenCache.Entry(user.getUserId(), user.getEmail(),
+                refreshToken.getFamilyId(), refreshToken.getDeviceId(), refreshToken.getExpiryDate());
+        if (refreshToken.getRotatedAt() != null) {
+            revokeReusedSession(requestRefreshToken, session);
+        }
+        refreshTokenCache.put(requestRefreshToken, session);
+        // Seeds the user cache so that the user does not have to be loaded again.
+        userDetailsCache.get(user.getEmail(), email -> user);
+        return session;
+    }
+
+    private void revokeReusedSession(String requestRefreshToken, RefreshTokenCache.Entry session) {
+        log.warn("Refresh token reuse detected for user ID: {}; revoking session {}", session.userId(), session.familyId());
+        refreshTokenRepository.deleteByFamilyId(session.familyId());
+        refreshTokenCache.invalidateUser(session.userId());
+        throw new TokenRefreshException(requestRefreshToken, "Refresh token was already used. The session has been revoked; please sign in again.");
     }
 }
@@ -0,0 +1,45 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * RefreshTokenSessionMigration
+ * Refresh tokens used to be one per user, enforced by a unique constraint on refresh_tokens.user_id.
+ * Hibernate's schema update never drops constraints, so this removes it once the schema has been updated,
+ * allowing a user to have several sessions. It does nothing when the constraint is already gone.
+ */
+@Service
+public class RefreshTokenSessionMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenSessionMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so that Hibernate has created or updated the schema first.
+    public RefreshTokenSessionMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void dropOneTokenPerUserConstraint() {
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT con.conname FROM pg_constraint con "
+                        + "JOIN pg_class rel ON rel.oid = con.conrelid "
+                        + "JOIN pg_attribute att ON att.attrelid = rel.oid AND att.attnum = con.conkey[1] "
+                        + "WHERE rel.relname = 'refresh_tokens' AND pg_table_is_visible(rel.oid) "
+                        + "AND con.contype = 'u' AND array_length(con.conkey, 1) = 1 AND att.attname = 'user_id'",
+                String.class);
+        for (String constraint : constraints) {
+            // DROP CONSTRAINT IF EXISTS keeps this safe when several nodes start at once.
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP CONSTRAINT IF EXISTS \"" + constraint.replace("\"", "\"\"") + "\"");
+            log.info("Dropped unique constraint {} on refresh_tokens.user_id to allow several sessions per user", constraint);
+        }
+    }
+}
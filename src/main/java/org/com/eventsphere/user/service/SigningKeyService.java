@@ -0,0 +1,265 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PostConstruct;
+import org.com.eventsphere.user.entity.SigningKey;
+import org.com.eventsphere.user.repository.SigningKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * SigningKeyService
+ * Manages the asymmetric (ES256 or EdDSA) keys used to sign access tokens and publishes their public halves
+ * as a JSON Web Key Set, so other services can verify tokens locally.
+ * Keys rotate on a fixed schedule with overlap: the next key is published ahead of the moment it starts signing,
+ * and a retired key stays published for one token lifetime after it stops signing.
+ */
+@Service
+public class SigningKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+
+    // Arbitrary but fixed advisory lock key shared by every node that rotates keys.
+    private static final long ROTATION_LOCK_KEY = 0x6A77742D6B657973L;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.signing-algorithm:HS256}")
+    private String signingAlgorithm;
+    @Value("${JWT_EXPIRATION}")
+    private Long jwtExpirationMs;
+    @Value("${jwt.keys.rotation-period-hours:720}")
+    private long rotationPeriodHours;
+    @Value("${jwt.keys.publish-ahead-hours:24}")
+    private long publishAheadHours;
+
+    // Immutable snapshot, replaced as a whole on every reload.
+    private volatile KeySet keySet = new KeySet(List.of(), Map.of(), new JsonWebKeySet(Map.of("keys", List.of()), "\"empty\""));
+
+    public SigningKeyService(SigningKeyRepository signingKeyRepository, PlatformTransactionManager transactionManager) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void init() {
+        if (isAsymmetric() && !"ES256".equals(signingAlgorithm) && !"EdDSA".equals(signingAlgorithm)) {
+            throw new IllegalStateException("Unsupported jwt.signing-algorithm: " + signingAlgorithm);
+        }
+        rotate();
+    }
+
+    /**
+     * Creates the next key when the current one is about to stop signing, removes expired keys
+     * and reloads the key set. Only one node at a time performs the rotation itself.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-ms:60000}", initialDelayString = "${jwt.keys.refresh-ms:60000}")
+    public void rotate() {
+        if (isAsymmetric()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (signingKeyRepository.tryAdvisoryXactLock(ROTATION_LOCK_KEY)) {
+                    createNextKeyIfDue(Instant.now());
+                    int deleted = signingKeyRepository.deleteExpiredBefore(Instant.now());
+                    if (deleted > 0) {
+                        log.info("Removed {} expired JWT signing key(s)", deleted);
+                    }
+                }
+            });
+        }
+        reload();
+    }
+
+    /**
+     * @return true if access tokens are signed with an asymmetric key instead of the shared HMAC secret.
+     */
+    public boolean isAsymmetric() {
+        return !"HS256".equalsIgnoreCase(signingAlgorithm);
+    }
+
+    /**
+     * @return The key that signs tokens right now.
+     * @throws IllegalStateException if no key is active yet.
+     */
+    public LoadedKey currentSigningKey() {
+        Instant now = Instant.now();
+        return keySet.keys().stream()
+                .filter(key -> !key.notBefore().isAfter(now) && key.notAfter().isAfter(now))
+                .max(Comparator.comparing(LoadedKey::notBefore))
+                .orElseThrow(() -> new IllegalStateException("No active JWT signing key"));
+    }
+
+    /**
+     * @return The public key with the given key ID, or null if it is unknown or expired.
+     */
+    public PublicKey findPublicKey(String kid) {
+        LoadedKey key = keySet.byKid().get(kid);
+        return key != null ? key.publicKey() : null;
+    }
+
+    /**
+     * @return The currently published key set along with its ETag.
+     */
+    public JsonWebKeySet getJsonWebKeySet() {
+        return keySet.jwks();
+    }
+
+    // Private helper methods
+
+    private void createNextKeyIfDue(Instant now) {
+        Instant latestNotAfter = signingKeyRepository.findFirstByOrderByNotAfterDesc()
+                .map(SigningKey::getNotAfter)
+                .orElse(null);
+        if (latestNotAfter != null && latestNotAfter.isAfter(now.plus(Duration.ofHours(publishAheadHours)))) {
+            return;
+        }
+        // The next key takes over exactly when the latest one stops signing, or right away if none is active.
+        Instant notBefore = latestNotAfter != null && latestNotAfter.isAfter(now) ? latestNotAfter : now;
+        Instant notAfter = notBefore.plus(Duration.ofHours(rotationPeriodHours));
+        KeyPair keyPair = generateKeyPair();
+        SigningKey signingKey = SigningKey.builder()
+                .kid(UUID.randomUUID().toString())
+                .algorithm(signingAlgorithm)
+                .keyAlgorithm(keyPair.getPrivate().getAlgorithm())
+                .publicKey(keyPair.getPublic().getEncoded())
+                .privateKey(keyPair.getPrivate().getEncoded())
+                .notBefore(notBefore)
+                .notAfter(notAfter)
+                .expiresAt(notAfter.plusMillis(jwtExpirationMs))
+                .build();
+        signingKeyRepository.save(signingKey);
+        log.info("Created JWT signing key {} ({}), signing from {} until {}", signingKey.getKid(), signingAlgorithm, notBefore, notAfter);
+    }
+
+    private KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator;
+            if ("ES256".equals(signingAlgorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a " + signingAlgorithm + " key pair", e);
+        }
+    }
+
+    private void reload() {
+        Map<String, LoadedKey> previous = keySet.byKid();
+        List<LoadedKey> keys = new ArrayList<>();
+        for (SigningKey stored : signingKeyRepository.findByExpiresAtAfterOrderByNotBeforeAsc(Instant.now())) {
+            LoadedKey key = previous.get(stored.getKid());
+            keys.add(key != null ? key : decode(stored));
+        }
+        Map<String, LoadedKey> byKid = new LinkedHashMap<>();
+        keys.forEach(key -> byKid.put(key.kid(), key));
+        keySet = new KeySet(List.copyOf(keys), Map.copyOf(byKid), buildJsonWebKeySet(keys));
+    }
+
+    private LoadedKey decode(SigningKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(stored.getKeyAlgorithm());
+            return new LoadedKey(
+                    stored.getKid(),
+                    stored.getAlgorithm(),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(stored.getPrivateKey())),
+                    keyFactory.generatePublic(new X509EncodedKeySpec(stored.getPublicKey())),
+                    stored.getNotBefore(),
+                    stored.getNotAfter());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decode JWT signing key " + stored.getKid(), e);
+        }
+    }
+
+    private static JsonWebKeySet buildJsonWebKeySet(List<LoadedKey> keys) {
+        List<Map<String, Object>> jwks = keys.stream().map(SigningKeyService::toJwk).toList();
+        // The key IDs identify the set completely, so they are all the ETag needs to cover.
+        String etag = "\"" + sha256Hex(String.join(",", keys.stream().map(LoadedKey::kid).toList())) + "\"";
+        return new JsonWebKeySet(Map.of("keys", jwks), etag);
+    }
+
+    private static Map<String, Object> toJwk(LoadedKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm());
+        if (key.publicKey() instanceof ECPublicKey ecPublicKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(toFixedLength(ecPublicKey.getW().getAffineX(), 32)));
+            jwk.put("y", base64Url(toFixedLength(ecPublicKey.getW().getAffineY(), 32)));
+        } else {
+            // An X.509 encoded Ed25519 key ends with the 32 raw public key bytes.
+            byte[] encoded = key.publicKey().getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        }
+        return jwk;
+    }
+
+    private static byte[] toFixedLength(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] fixed = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, fixed, length - copy, copy);
+        return fixed;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record LoadedKey(String kid, String algorithm, PrivateKey privateKey, PublicKey publicKey,
+                            Instant notBefore, Instant notAfter) {
+    }
+
+    public record JsonWebKeySet(Map<String, Object> body, String etag) {
+    }
+
+    private record KeySet(List<LoadedKey> keys, Map<String, LoadedKey> byKid, JsonWebKeySet jwks) {
+    }
+}
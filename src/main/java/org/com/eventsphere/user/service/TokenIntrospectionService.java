@@ -0,0 +1,138 @@
+package org.com.eventsphere.user.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.dto.TokenIntrospectionResult;
+import org.com.eventsphere.user.dto.TokenIntrospectionResult.Status;
+import org.com.eventsphere.user.dto.TokenIntrospectionResult.TokenType;
+import org.com.eventsphere.user.entity.RefreshToken;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.repository.RefreshTokenRepository;
+import org.com.eventsphere.user.security.TokenVersionRegistry;
+import org.com.eventsphere.user.security.VerifiedClaims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TokenIntrospectionService
+ * Reports the status of many access and refresh tokens in one call, for services that cannot verify tokens themselves.
+ * Access tokens are verified with JwtService; all refresh tokens of a batch are looked up with a single query.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    private final JwtService jwtService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * @param tokens The access (JWT) and refresh tokens to introspect, in any mix.
+     * @return One result per token, in the same order as the input.
+     */
+    @Transactional(readOnly = true)
+    public List<TokenIntrospectionResult> introspect(List<String> tokens) {
+        log.info("Introspecting {} token(s)", tokens.size());
+
+        // 1. Collect the refresh tokens first so they can be fetched together.
+        Set<String> refreshTokens = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (!isJwt(token)) {
+                refreshTokens.add(token);
+            }
+        }
+        Map<String, RefreshToken> storedRefreshTokens = new HashMap<>();
+        if (!refreshTokens.isEmpty()) {
+            refreshTokenRepository.findAllByTokenInWithUser(refreshTokens)
+                    .forEach(refreshToken -> storedRefreshTokens.put(refreshToken.getToken(), refreshToken));
+        }
+
+        // 2. Build the results in request order.
+        List<TokenIntrospectionResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(isJwt(token)
+                    ? introspectAccessToken(token)
+                    : introspectRefreshToken(storedRefreshTokens.get(token)));
+        }
+        return results;
+    }
+
+    // Private helper methods
+
+    private TokenIntrospectionResult introspectAccessToken(String token) {
+        VerifiedClaims claims;
+        Status status;
+        try {
+            claims = jwtService.verifyToken(token);
+            status = isRevoked(claims) ? Status.REVOKED : Status.ACTIVE;
+        } catch (ExpiredJwtException e) {
+            claims = jwtService.readExpiredClaims(e);
+            status = Status.EXPIRED;
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenIntrospectionResult.builder()
+                    .tokenType(TokenType.ACCESS)
+                    .status(Status.INVALID)
+                    .build();
+        }
+        return TokenIntrospectionResult.builder()
+                .tokenType(TokenType.ACCESS)
+                .status(status)
+                .userId(claims.userId())
+                .email(claims.subject())
+                .roles(claims.role())
+                .expiresAt(claims.expiresAt())
+                .build();
+    }
+
+    private boolean isRevoked(VerifiedClaims claims) {
+        return claims.userId() != null
+                && claims.tokenVersion() != null
+                && !tokenVersionRegistry.isCurrent(claims.userId(), claims.tokenVersion());
+    }
+
+    private TokenIntrospectionResult introspectRefreshToken(RefreshToken refreshToken) {
+        if (refreshToken == null) {
+            // Unknown refresh tokens have either been revoked (e.g. by logout) or never existed.
+            return TokenIntrospectionResult.builder()
+                    .tokenType(TokenType.REFRESH)
+                    .status(Status.REVOKED)
+                    .build();
+        }
+        User user = refreshToken.getUser();
+        Status status;
+        if (!user.isActive() || refreshToken.getRotatedAt() != null) {
+            // A rotated token has been exchanged for a newer one and can no longer be used.
+            status = Status.REVOKED;
+        } else if (refreshToken.getExpiryDate().isBefore(Instant.now())) {
+            status = Status.EXPIRED;
+        } else {
+            status = Status.ACTIVE;
+        }
+        return TokenIntrospectionResult.builder()
+                .tokenType(TokenType.REFRESH)
+                .status(status)
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .roles(user.getRole().name())
+                .expiresAt(refreshToken.getExpiryDate())
+                .build();
+    }
+
+    private static boolean isJwt(String token) {
+        // A compact JWS always has exactly three dot-separated parts; refresh tokens are UUIDs.
+        return token.chars().filter(c -> c == '.').count() == 2;
+    }
+}
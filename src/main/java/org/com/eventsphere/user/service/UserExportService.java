@@ -0,0 +1,195 @@
+package org.com.eventsphere.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.com.eventsphere.user.dto.UserResponse;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.exception.UnsupportedExportFormatException;
+import org.com.eventsphere.user.mapper.UserMapper;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * UserExportService
+ * Writes every user to an output stream as NDJSON or CSV, one row at a time, while reading them through a
+ * server-side cursor. The persistence context is cleared every clear-every rows, so memory use does not grow
+ * with the size of the table. Rows are mapped to UserResponse, so an export holds the same fields as the API.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] CSV_HEADER = {
+            "id", "email", "firstName", "lastName", "phoneNumber", "role",
+            "isActive", "isEmailVerified", "createdAt", "lastLoginAt"
+    };
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ObjectWriter jsonWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user-export.clear-every:500}")
+    private int clearEvery;
+
+    public UserExportService(UserRepository userRepository, UserMapper userMapper, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        // Flushing after every row would turn each row into its own network write.
+        this.jsonWriter = objectMapper.writerFor(UserResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all users to the stream. The stream is flushed but not closed.
+     * @return The number of users written.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long count;
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            count = format == Format.CSV ? writeCsv(users.iterator(), out) : writeNdjson(users.iterator(), out);
+        }
+        log.info("Exported {} users as {} in {} ms", count, format, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    // Private helper methods
+
+    private long writeNdjson(Iterator<User> users, OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        long count = 0;
+        while (users.hasNext()) {
+            jsonWriter.writeValue(generator, toResponse(users.next(), ++count));
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<User> users, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvRow(writer, CSV_HEADER);
+        long count = 0;
+        while (users.hasNext()) {
+            UserResponse user = toResponse(users.next(), ++count);
+            writeCsvRow(writer, new String[]{
+                    String.valueOf(user.getId()),
+                    user.getEmail(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getPhoneNumber(),
+                    user.getRole(),
+                    String.valueOf(user.getIsActive()),
+                    String.valueOf(user.getIsEmailVerified()),
+                    user.getCreatedAt() != null ? user.getCreatedAt().toString() : null,
+                    user.getLastLoginAt() != null ? user.getLastLoginAt().toString() : null
+            });
+        }
+        writer.flush();
+        return count;
+    }
+
+    private UserResponse toResponse(User user, long count) {
+        UserResponse response = userMapper.toUserResponse(user);
+        if (count % clearEvery == 0) {
+            // Entities already written are only kept alive by the persistence context.
+            entityManager.clear();
+        }
+        return response;
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Spreadsheets run cells starting with these as formulas; a leading quote keeps them as text.
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedExportFormatException("Unsupported export format: " + value + ". Use ndjson or csv.");
+            }
+        }
+    }
+}
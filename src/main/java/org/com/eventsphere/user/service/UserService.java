@@ -9,10 +9,13 @@ import java.util.List;
 
 public interface UserService {
 
+    // Upper bound on the page size of every keyset-paginated query.
+    int MAX_PAGE_SIZE = 200;
+
     // --- Core Authentication & User Lifecycle ---
     UserResponse registerUser(UserRegistrationRequest request);
     String verifyEmail(String email);
-    AuthenticationResponse loginUser(LoginRequest loginRequest);
+    AuthenticationResponse loginUser(LoginRequest loginRequest, String clientIp);
     String logoutUser(String refreshToken);
 
     // --- Password Management ---
@@ -30,15 +33,16 @@ public interface UserService {
     List<UserResponse> getAllUsers();
     void assignRoleToUser(Long userId, String roleName);
     void removeRoleFromUser(Long userId, String roleName);
-    List<UserResponse> getUsersByRole(String roleName);
+    CursorPage<UserResponse> getUsersByRole(String roleName, String cursor, int limit);
     void deactivateUser(Long id);
     void reactivateUser(Long id);
 
     // --- Advanced Search & Reporting ---
-    List<UserResponse> searchUsers(String query);
-    List<UserResponse> getInactiveUsers();
-    List<UserResponse> getUsersRegisteredBetween(LocalDate startDate, LocalDate endDate);
-    List<UserResponse> getUsersLastActiveBefore(LocalDateTime dateTime);
+    // Keyset-paginated: pass the nextCursor of one page as cursor to get the next; limit is capped at MAX_PAGE_SIZE.
+    CursorPage<UserResponse> searchUsers(String query, String cursor, int limit);
+    CursorPage<UserResponse> getInactiveUsers(String cursor, int limit);
+    CursorPage<UserResponse> getUsersRegisteredBetween(LocalDate startDate, LocalDate endDate, String cursor, int limit);
+    CursorPage<UserResponse> getUsersLastActiveBefore(LocalDateTime dateTime, String cursor, int limit);
 
     // --- Maintenance & Other Utilities ---
     void purgeInactiveUsers(int months);
@@ -49,5 +53,6 @@ public interface UserService {
 
     // --- Login Attempt Tracking (Security) ---
     void recordLoginAttempt(String email, boolean successful);
-    List<LoginAttemptResponse> getLoginAttempts(String email);
+    CursorPage<LoginAttemptResponse> getLoginAttempts(String email, LocalDateTime from, LocalDateTime to,
+                                                      Boolean successful, String cursor, int limit);
 }
@@ -0,0 +1,137 @@
+package org.com.eventsphere.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.com.eventsphere.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * VerificationEmailCoalescer
+ * Remembers, per email address, the verification token most recently sent and when, so that repeated
+ * "resend" requests do not each create a token and an email.
+ * - Within window-seconds of the last email, a resend is suppressed; the email already queued covers it.
+ * - After that, but within token-reuse-seconds of issuing the token, the resend sends the same token again.
+ * - Otherwise a new token is issued.
+ * State is per node and lost on restart, which at worst lets one extra email through.
+ */
+@Component
+public class VerificationEmailCoalescer {
+
+    private final Cache<String, Entry> cache;
+    private final Duration window;
+    private final Duration tokenReuse;
+
+    private final Counter queued;
+    private final Counter reused;
+    private final Counter suppressed;
+
+    public VerificationEmailCoalescer(MeterRegistry meterRegistry,
+                                      @Value("${email-resend.window-seconds:120}") long windowSeconds,
+                                      @Value("${email-resend.token-reuse-seconds:3600}") long tokenReuseSeconds,
+                                      @Value("${email-resend.max-size:100000}") long maxSize) {
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.tokenReuse = Duration.ofSeconds(tokenReuseSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(windowSeconds, tokenReuseSeconds)))
+                .build();
+        this.queued = counter(meterRegistry, "queued");
+        this.reused = counter(meterRegistry, "reused");
+        this.suppressed = counter(meterRegistry, "suppressed");
+    }
+
+    /**
+     * Decides what a resend request for the user should do, and claims the window for it.
+     * @return The decision; see {@link Claim}.
+     */
+    public Claim claim(User user) {
+        String key = key(user.getEmail());
+        Instant now = Instant.now();
+        Claim[] claim = new Claim[1];
+        cache.asMap().compute(key, (k, entry) -> {
+            // The address may have been released and registered again by someone else.
+            if (entry != null && entry.userId().equals(user.getUserId())) {
+                if (entry.queuedAt().plus(window).isAfter(now)) {
+                    claim[0] = Claim.SUPPRESSED;
+                    return entry;
+                }
+                if (entry.token() != null && entry.issuedAt().plus(tokenReuse).isAfter(now)) {
+                    claim[0] = new Claim(true, entry.token());
+                    return new Entry(entry.userId(), entry.token(), entry.issuedAt(), now);
+                }
+            }
+            claim[0] = Claim.NEW_TOKEN;
+            return new Entry(user.getUserId(), null, now, now);
+        });
+        if (claim[0] == Claim.SUPPRESSED) {
+            suppressed.increment();
+        } else {
+            (claim[0].token() != null ? reused : queued).increment();
+            forgetOnRollback(key);
+        }
+        return claim[0];
+    }
+
+    /**
+     * Records a token that was just issued and queued for the user, whether by a resend or by registration.
+     */
+    public void recordIssued(User user, String token) {
+        String key = key(user.getEmail());
+        Instant now = Instant.now();
+        cache.put(key, new Entry(user.getUserId(), token, now, now));
+        forgetOnRollback(key);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    // Private helper methods
+
+    private void forgetOnRollback(String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.verification.resend")
+                .description("Verification email resend requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param send false if the request is covered by an email already queued and nothing should be sent.
+     * @param token The still valid token to send again, or null if a new one must be issued.
+     */
+    public record Claim(boolean send, String token) {
+        static final Claim SUPPRESSED = new Claim(false, null);
+        static final Claim NEW_TOKEN = new Claim(true, null);
+    }
+
+    private record Entry(Long userId, String token, Instant issuedAt, Instant queuedAt) {
+    }
+}
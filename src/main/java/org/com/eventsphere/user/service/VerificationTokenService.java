@@ -0,0 +1,168 @@
+package org.com.eventsphere.user.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.entity.VerificationToken;
+import org.com.eventsphere.user.entity.VerificationToken.TokenType;
+import org.com.eventsphere.user.exception.TokenRefreshException;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.repository.VerificationTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * VerificationTokenService
+ * Issues and checks the tokens sent by email to verify an address or reset a password, in one of two modes:
+ * - database: a random UUID stored as a VerificationToken row and deleted once used,
+ * - signed: a compact HMAC-signed value carrying the user ID, type, expiry and a fingerprint of the user state
+ *   the token acts on (the email and its verified flag, or the password hash). Using the token changes that
+ *   state, which invalidates the token, so no row is written or deleted.
+ * Both kinds of token are accepted whatever the mode, so switching modes does not break links already sent.
+ */
+@Service
+@RequiredArgsConstructor
+public class VerificationTokenService {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int FINGERPRINT_LENGTH = 8;
+    private static final int SIGNATURE_LENGTH = 16;
+    private static final Duration EMAIL_VERIFICATION_TTL = Duration.ofHours(24);
+    private static final Duration PASSWORD_RESET_TTL = Duration.ofMinutes(15);
+
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${verification-tokens.mode:database}")
+    private String mode;
+    @Value("${JWT_SECRET}")
+    private String secret;
+
+    private SecretKeySpec signingKey;
+
+    @PostConstruct
+    void init() {
+        // A key of its own, derived from the JWT secret, so the two kinds of token can never be swapped.
+        signingKey = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"),
+                "eventsphere-verification-tokens".getBytes(StandardCharsets.UTF_8)), "HmacSHA256");
+    }
+
+    /**
+     * Creates a token of the given type for the user, storing it only in database mode.
+     * @return The token value to put in the email link.
+     */
+    public String issue(User user, TokenType type) {
+        Instant expiry = Instant.now().plus(type == TokenType.PASSWORD_RESET ? PASSWORD_RESET_TTL : EMAIL_VERIFICATION_TTL);
+        if ("signed".equalsIgnoreCase(mode)) {
+            return sign(user, type, expiry);
+        }
+        String tokenValue = UUID.randomUUID().toString();
+        VerificationToken verificationToken = VerificationToken.builder()
+                .token(tokenValue)
+                .user(user)
+                .type(type)
+                .expiryDate(expiry)
+                .build();
+        verificationTokenRepository.save(verificationToken);
+        return tokenValue;
+    }
+
+    /**
+     * Checks the token and returns the user it was issued to. A stored token is deleted;
+     * the caller must then change the state a signed token is bound to.
+     * @throws TokenRefreshException if the token is unknown, tampered with, expired, already used or of another type.
+     */
+    public User consume(String token, TokenType type) {
+        return token.indexOf('.') >= 0 ? consumeSigned(token, type) : consumeStored(token, type);
+    }
+
+    // Private helper methods
+
+    private User consumeStored(String token, TokenType type) {
+        VerificationToken verificationToken = verificationTokenRepository.findByTokenWithUser(token)
+                .orElseThrow(() -> new TokenRefreshException(token, "Invalid token."));
+        if (verificationToken.isExpired() || verificationToken.getType() != type) {
+            verificationTokenRepository.delete(verificationToken);
+            throw new TokenRefreshException(token, "Token has expired or is invalid.");
+        }
+        verificationTokenRepository.delete(verificationToken);
+        return verificationToken.getUser();
+    }
+
+    private String sign(User user, TokenType type, Instant expiry) {
+        ByteBuffer payload = ByteBuffer.allocate(2 + Long.BYTES * 2 + FINGERPRINT_LENGTH);
+        payload.put(FORMAT_VERSION)
+                .put((byte) type.ordinal())
+                .putLong(user.getUserId())
+                .putLong(expiry.getEpochSecond())
+                .put(fingerprint(user, type));
+        byte[] body = payload.array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(body) + "." + encoder.encodeToString(signature(body));
+    }
+
+    private User consumeSigned(String token, TokenType type) {
+        int dot = token.indexOf('.');
+        byte[] body;
+        byte[] signature;
+        try {
+            body = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new TokenRefreshException(token, "Invalid token.");
+        }
+        if (body.length != 2 + Long.BYTES * 2 + FINGERPRINT_LENGTH || !MessageDigest.isEqual(signature, signature(body))) {
+            throw new TokenRefreshException(token, "Invalid token.");
+        }
+        ByteBuffer payload = ByteBuffer.wrap(body);
+        byte version = payload.get();
+        byte tokenType = payload.get();
+        long userId = payload.getLong();
+        Instant expiry = Instant.ofEpochSecond(payload.getLong());
+        byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+        payload.get(fingerprint);
+        if (version != FORMAT_VERSION || tokenType != type.ordinal() || Instant.now().isAfter(expiry)) {
+            throw new TokenRefreshException(token, "Token has expired or is invalid.");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new TokenRefreshException(token, "Invalid token."));
+        // The fingerprint no longer matches once the token has been used, or the email or password changed since.
+        if (!MessageDigest.isEqual(fingerprint, fingerprint(user, type))) {
+            throw new TokenRefreshException(token, "Token has already been used or is no longer valid.");
+        }
+        return user;
+    }
+
+    private byte[] fingerprint(User user, TokenType type) {
+        String state = type == TokenType.PASSWORD_RESET
+                ? user.getEmail() + "|" + user.getPassword()
+                : user.getEmail() + "|" + user.isEmailVerified();
+        return Arrays.copyOf(hmac(signingKey, state.getBytes(StandardCharsets.UTF_8)), FINGERPRINT_LENGTH);
+    }
+
+    private byte[] signature(byte[] body) {
+        return Arrays.copyOf(hmac(signingKey, body), SIGNATURE_LENGTH);
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
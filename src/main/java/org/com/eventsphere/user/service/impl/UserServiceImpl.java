@@ -5,30 +5,42 @@ import org.com.eventsphere.user.dto.*;
 import org.com.eventsphere.user.entity.*;
 import org.com.eventsphere.user.exception.EmailAlreadyExistsException;
 import org.com.eventsphere.user.exception.InvalidCredentialsException;
-import org.com.eventsphere.user.exception.TokenRefreshException;
+import org.com.eventsphere.user.exception.InvalidCursorException;
 import org.com.eventsphere.user.exception.UserNotFoundException;
 import org.com.eventsphere.user.repository.LoginAttemptRepository;
 import org.com.eventsphere.user.repository.UserRepository;
-import org.com.eventsphere.user.repository.VerificationTokenRepository;
-import org.com.eventsphere.user.service.EmailService;
+import org.com.eventsphere.user.security.CredentialStuffingDetector;
+import org.com.eventsphere.user.security.LoginThrottle;
+import org.com.eventsphere.user.security.RefreshTokenCache;
+import org.com.eventsphere.user.security.TokenVersionRegistry;
+import org.com.eventsphere.user.security.UserDetailsCache;
+import org.com.eventsphere.user.service.EmailOutbox;
 import org.com.eventsphere.user.service.JwtService;
+import org.com.eventsphere.user.service.LastActivityBuffer;
+import org.com.eventsphere.user.service.LoginAttemptJournal;
 import org.com.eventsphere.user.service.RefreshTokenService;
 import org.com.eventsphere.user.service.UserService;
+import org.com.eventsphere.user.service.VerificationEmailCoalescer;
+import org.com.eventsphere.user.service.VerificationTokenService;
 import org.com.eventsphere.user.mapper.UserMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -46,16 +58,27 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
     private final JwtService jwtService;
-    private final VerificationTokenRepository verificationTokenRepository;
     private final RefreshTokenService refreshTokenService;
     private final UserMapper userMapper;
     private final LoginAttemptRepository loginAttemptRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final LastActivityBuffer lastActivityBuffer;
+    private final LoginAttemptJournal loginAttemptJournal;
+    private final LoginThrottle loginThrottle;
+    private final CredentialStuffingDetector credentialStuffingDetector;
+    private final RefreshTokenCache refreshTokenCache;
+    private final VerificationTokenService verificationTokenService;
+    private final VerificationEmailCoalescer verificationEmailCoalescer;
+    private final TransactionTemplate transactionTemplate;
 
     // Authentication & User Lifecycle methods
+
+    // Not transactional as a whole: the password is hashed before the transaction starts, so that no pooled
+    // database connection is held while the hash waits for, or runs on, the bounded encoder.
     @Override
-    @Transactional // 4. Ensures the entire method runs within a single database transaction.
     public UserResponse registerUser(UserRegistrationRequest request) {
         log.info("Registering user with email: {}", request.getEmail());
 
@@ -65,83 +88,78 @@ public class UserServiceImpl implements UserService {
             throw new EmailAlreadyExistsException("Error: Email '" + request.getEmail() + "' is already in use!");
         }
 
-        // 6. Create a new User entity from the request DTO.
-        User user = User.builder()
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .email(request.getEmail())
-                // 7. Security: NEVER store passwords in plain text. Always hash them.
-                .password(passwordEncoder.encode(request.getPassword()))
-                .phoneNumber(request.getPhone())
-                .isActive(true) // User is active by default
-                .isEmailVerified(false) // Email is not verified upon registration
-                .build(); // The role defaults to USER thanks to @Builder.Default in the User entity.
-
-        // 8. Save the new user to the database.
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully with ID: {}", savedUser.getUserId());
-
-        // We will add the email verification logic here later.
-        String tokenValue = UUID.randomUUID().toString();
-        VerificationToken verificationToken = VerificationToken.builder()
-                .token(tokenValue)
-                .user(savedUser)
-                .type(VerificationToken.TokenType.EMAIL_VERIFICATION)
-                .expiryDate(Instant.now().plusSeconds(86400))
-                .build();
-        verificationTokenRepository.save(verificationToken);
-        log.info("Verification token generated for user: {}", savedUser.getEmail());
-
-        // Send verification email
-        emailService.sendVerificationEmail(savedUser.getEmail(), tokenValue);
-        log.info("Verification email sent to: {}", savedUser.getEmail());
-
-        return userMapper.toUserResponse(savedUser);
+        // 7. Security: NEVER store passwords in plain text. Always hash them.
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
+        // 4. The user, its verification token and the queued email are written in a single database transaction.
+        return transactionTemplate.execute(status -> {
+            // 6. Create a new User entity from the request DTO.
+            User user = User.builder()
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .email(request.getEmail())
+                    .password(passwordHash)
+                    .phoneNumber(request.getPhone())
+                    .isActive(true) // User is active by default
+                    .isEmailVerified(false) // Email is not verified upon registration
+                    .build(); // The role defaults to USER thanks to @Builder.Default in the User entity.
+
+            // 8. Save the new user to the database.
+            User savedUser = userRepository.save(user);
+            log.info("User registered successfully with ID: {}", savedUser.getUserId());
+
+            // 9. Issue the email verification token.
+            String tokenValue = verificationTokenService.issue(savedUser, VerificationToken.TokenType.EMAIL_VERIFICATION);
+            log.info("Verification token generated for user: {}", savedUser.getEmail());
+
+            // Queue the verification email; it is sent once this transaction commits.
+            emailOutbox.queueVerificationEmail(savedUser.getEmail(), tokenValue);
+            verificationEmailCoalescer.recordIssued(savedUser, tokenValue);
+            log.info("Verification email queued for: {}", savedUser.getEmail());
+
+            return userMapper.toUserResponse(savedUser);
+        });
     }
 
     @Override
     @Transactional
     public String verifyEmail(String token) {
 
-        VerificationToken verificationToken = verificationTokenRepository.findByToken(token)
-                .orElseThrow(() -> new TokenRefreshException(token, "Invalid verification token."));
-
-        if(verificationToken.isExpired()) {
-            verificationTokenRepository.delete(verificationToken);
-            throw new TokenRefreshException(token, "Verification token has expired.");
-        }
-
-        // Properly fetch the user to avoid lazy initialization issues
-        User user = userRepository.findById(verificationToken.getUser().getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        // Setting the verified flag also invalidates a signed token, which is bound to it.
+        User user = verificationTokenService.consume(token, VerificationToken.TokenType.EMAIL_VERIFICATION);
 
         user.setEmailVerified(true);
         userRepository.save(user);
-        verificationTokenRepository.delete(verificationToken);
+        userDetailsCache.invalidate(user.getEmail());
         log.info("Email verified successfully for user: {}", user.getEmail());
         return "Email verified successfully.";
     }
 
+    // Deliberately not transactional: a login must not hold a pooled database connection while it waits for,
+    // or runs, the password hash. Only the refresh token write opens a transaction, inside createRefreshToken.
     @Override
-    @Transactional
-    public AuthenticationResponse loginUser(LoginRequest loginRequest) {
+    public AuthenticationResponse loginUser(LoginRequest loginRequest, String clientIp) {
         log.info("Attempting to authenticate user: {}", loginRequest.getEmail());
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
-        User user = userRepository.findByEmail(loginRequest.getEmail()).orElseThrow(() -> new UserNotFoundException("User not found after successful authentication"));
-        // We will add JWT generation logic here later.
+        // Throttled attempts are rejected here, before any password hashing work is done.
+        loginThrottle.checkAllowed(loginRequest.getEmail(), clientIp);
+        credentialStuffingDetector.checkAllowed(clientIp);
+        UsernamePasswordAuthenticationToken authenticationRequest =
+                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword());
+        // Lets the failure event listener attribute the attempt to the client address.
+        authenticationRequest.setDetails(new WebAuthenticationDetails(clientIp, null));
+        Authentication authentication = authenticationManager.authenticate(authenticationRequest);
+        // The authenticated principal is the User loaded by the UserDetailsService, so there is no need to load it again.
+        User user = (User) authentication.getPrincipal();
         String jwtToken = jwtService.generateToken(user);
         log.info("JWT generated for user: {}", user.getEmail());
-        userRepository.updateLastLogin(user.getUserId(), LocalDateTime.now());
 
-        RefreshToken refreshToken = refreshTokenService.createOrUpdateRefreshToken(user);
+        String refreshToken = refreshTokenService.createRefreshToken(user, loginRequest.getDeviceId());
         log.info("Refresh token generated for user: {}", user.getEmail());
-        userRepository.updateLastLogin(user.getUserId(), LocalDateTime.now());
+        lastActivityBuffer.record(user.getUserId(), LocalDateTime.now());
 
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(refreshToken)
                 .user(userMapper.toUserResponse(user))
                 .build();
     }
@@ -161,45 +179,36 @@ public class UserServiceImpl implements UserService {
     public String initiatePasswordReset(PasswordResetRequest request) {
         log.info("Initiating password reset for email: {}", request.getEmail());
         userRepository.findByEmail(request.getEmail()).ifPresent(user -> {
-            String tokenValue = UUID.randomUUID().toString();
-            VerificationToken resetToken = VerificationToken.builder()
-                    .token(tokenValue)
-                    .user(user)
-                    .type(VerificationToken.TokenType.PASSWORD_RESET)
-                    .expiryDate(Instant.now().plusSeconds(900))
-                    .build();
-            verificationTokenRepository.save(resetToken);
+            String tokenValue = verificationTokenService.issue(user, VerificationToken.TokenType.PASSWORD_RESET);
             log.info("Password reset token generated for user: {}", user.getEmail());
-            emailService.sendPasswordResetEmail(user.getEmail(), tokenValue);
-            log.info("Password reset email sent to: {}", user.getEmail());
+            emailOutbox.queuePasswordResetEmail(user.getEmail(), tokenValue);
+            log.info("Password reset email queued for: {}", user.getEmail());
         });
 
         return "";
     }
 
+    // Not transactional as a whole, like registerUser: the new password is hashed before the transaction starts.
     @Override
-    @Transactional
     public String resetPassword(PasswordUpdateRequest request) {
         log.info("Attempting to reset password with token: {}", request.getToken());
-        VerificationToken verificationToken = verificationTokenRepository.findByTokenWithUser(request.getToken())
-                .orElseThrow(() -> new TokenRefreshException(request.getToken(), "Invalid password reset token."));
-
-        if(verificationToken.isExpired() || verificationToken.getType() != VerificationToken.TokenType.PASSWORD_RESET) {
-            verificationTokenRepository.delete(verificationToken);
-            throw new TokenRefreshException(request.getToken(), "Password reset token has expired or is invalid.");
-        }
-        // user user builder
-        User user = verificationToken.getUser();
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
-
-        verificationTokenRepository.delete(verificationToken);
-        log.info("Password reset successfully for user: {}", user.getEmail());
+        String passwordHash = passwordEncoder.encode(request.getNewPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            // Changing the password also invalidates a signed token, which is bound to the password hash.
+            User user = verificationTokenService.consume(request.getToken(), VerificationToken.TokenType.PASSWORD_RESET);
+            user.setPassword(passwordHash);
+            // Also tells other nodes that their cached copy of the user holds the old password hash.
+            bumpTokenVersion(user);
+            userRepository.save(user);
+            tokenVersionRegistry.update(user.getUserId(), user.getTokenVersion());
+            userDetailsCache.invalidate(user.getEmail());
+            log.info("Password reset successfully for user: {}", user.getEmail());
+        });
         return "Password reset successfully.";
     }
 
+    // Not transactional as a whole, like registerUser: both passwords are hashed outside the transaction.
     @Override
-    @Transactional
     public void changeUserPassword(ChangePasswordRequest request, UserDetails currentUser) {
         User user = userRepository.findByEmail(currentUser.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("Authenticated user not found in database."));
@@ -207,8 +216,21 @@ public class UserServiceImpl implements UserService {
             log.warn("Password change failed for user {}: Incorrect current password.", user.getEmail());
             throw new InvalidCredentialsException("Incorrect current password provided.");
         }
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String passwordHash = passwordEncoder.encode(request.getNewPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User current = userRepository.findById(user.getUserId())
+                    .orElseThrow(() -> new UserNotFoundException("Authenticated user not found in database."));
+            // The current password was checked against the hash read above, which may have changed since.
+            if (!current.getPassword().equals(user.getPassword())) {
+                log.warn("Password change failed for user {}: Password changed concurrently.", user.getEmail());
+                throw new InvalidCredentialsException("Incorrect current password provided.");
+            }
+            current.setPassword(passwordHash);
+            bumpTokenVersion(current);
+            userRepository.save(current);
+            tokenVersionRegistry.update(current.getUserId(), current.getTokenVersion());
+            userDetailsCache.invalidate(current.getEmail());
+        });
         log.info("Password changed successfully for user: {}", user.getEmail());
     }
 
@@ -249,6 +271,7 @@ public class UserServiceImpl implements UserService {
             user.setPhoneNumber(request.getPhoneNumber());
         }
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(updatedUser.getEmail());
         log.info("User profile updated successfully for user with ID: {}", id);
         return userMapper.toUserResponse(updatedUser);
     }
@@ -262,6 +285,8 @@ public class UserServiceImpl implements UserService {
 
         refreshTokenService.deleteByUser(user);
         userRepository.deleteById(userId);
+        tokenVersionRegistry.markDeleted(userId);
+        userDetailsCache.invalidate(user.getEmail());
         log.info("User with ID: {} has been deleted successfully.", userId);
     }
 
@@ -292,7 +317,10 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Invalid role name: " + roleName);
         }
         user.setRole(newRole);
+        bumpTokenVersion(user);
         userRepository.save(user);
+        tokenVersionRegistry.update(user.getUserId(), user.getTokenVersion());
+        userDetailsCache.invalidate(user.getEmail());
         log.info("Role '{}' assigned to user with ID: {} successfully.", roleName, userId);
     }
 
@@ -309,7 +337,10 @@ public class UserServiceImpl implements UserService {
         }
         if (user.getRole() == roleToRemove) {
             user.setRole(Role.USER); // Default to USER role if the current role is being removed
+            bumpTokenVersion(user);
             userRepository.save(user);
+            tokenVersionRegistry.update(user.getUserId(), user.getTokenVersion());
+            userDetailsCache.invalidate(user.getEmail());
             log.info("Role '{}' removed from user with ID: {}. Defaulted to USER role.", roleName, userId);
         } else {
             log.info("User with ID: {} does not have role '{}'. No changes made.", userId, roleName);
@@ -318,7 +349,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<UserResponse> getUsersByRole(String roleName) {
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersByRole(String roleName, String cursor, int limit) {
         log.info("Fetching users with role: {}", roleName);
         Role role;
         try {
@@ -329,9 +361,8 @@ public class UserServiceImpl implements UserService {
         }
         log.info("Fetching users by role: {}", role);
 
-        return userRepository.findByRole(role).stream()
-                .map(userMapper::toUserResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        return toUserPage(userRepository.findPageByRole(role, idCursor(cursor), pageSize), pageSize, null);
     }
 
     @Override
@@ -339,8 +370,13 @@ public class UserServiceImpl implements UserService {
         log.info("Deactivating user with ID: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
-        user.setRole(Role.USER);
+        user.setActive(false);
+        bumpTokenVersion(user);
         userRepository.save(user);
+        // A deactivated user must not be able to mint new access tokens either.
+        refreshTokenService.deleteByUser(user);
+        tokenVersionRegistry.update(user.getUserId(), user.getTokenVersion());
+        userDetailsCache.invalidate(user.getEmail());
         log.info("User with ID: {} has been deactivated.", id);
     }
 
@@ -351,6 +387,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
         user.setActive(true);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
         log.info("User with ID: {} has been reactivated.", id);
     }
 
@@ -358,44 +395,43 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> searchUsers(String query) {
+    public CursorPage<UserResponse> searchUsers(String query, String cursor, int limit) {
         log.info("Fetching users with query: {}", query);
 
-        return userRepository.searchByFirstNameLastNameOrEmail(query).stream()
-                .map(userMapper::toUserResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        return toUserPage(userRepository.findPageBySearch(query, idCursor(cursor), pageSize), pageSize, null);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getInactiveUsers() {
+    public CursorPage<UserResponse> getInactiveUsers(String cursor, int limit) {
         log.info("Fetching inactive users");
         // Assuming inactive users are those who are not active
-        List<User> inactiveUsers = userRepository.findByIsActive(false);
-        if (!inactiveUsers.isEmpty()) {
-            return userMapper.toUserResponseList(inactiveUsers);
-        }
-        log.info("No inactive users found in the database.");
-        return List.of();
+        int pageSize = pageSize(limit);
+        return toUserPage(userRepository.findPageByActive(false, idCursor(cursor), pageSize), pageSize, null);
     }
 
     @Override
-    public List<UserResponse> getUsersRegisteredBetween(LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersRegisteredBetween(LocalDate startDate, LocalDate endDate, String cursor, int limit) {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
         log.info("Fetching users between {} and {}", startDate, endDate);
-        return userRepository.findByCreatedAtBetween(startDateTime, endDateTime).stream()
-                .map(userMapper::toUserResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        TimeCursor position = timeCursor(cursor);
+        List<User> users = userRepository.findPageCreatedBetween(
+                startDateTime, endDateTime, position.at(), position.id(), pageSize);
+        return toUserPage(users, pageSize, User::getCreatedAt);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponse> getUsersLastActiveBefore(LocalDateTime dateTime) {
+    public CursorPage<UserResponse> getUsersLastActiveBefore(LocalDateTime dateTime, String cursor, int limit) {
         log.info("Fetching users last active before {}", dateTime);
-        return userRepository.findByLastLoginAtBefore(dateTime).stream()
-                .map(userMapper::toUserResponse)
-                .collect(Collectors.toList());
+        int pageSize = pageSize(limit);
+        TimeCursor position = timeCursor(cursor);
+        List<User> users = userRepository.findPageLastLoginBefore(dateTime, position.at(), position.id(), pageSize);
+        return toUserPage(users, pageSize, User::getLastLoginAt);
     }
 
     @Override
@@ -404,6 +440,8 @@ public class UserServiceImpl implements UserService {
         LocalDateTime cutoff = LocalDateTime.now().minusMonths(months);
         log.warn("Purging users older than {} months", cutoff);
         userRepository.deleteUnverifiedUsersBefore(cutoff);
+        userDetailsCache.invalidateAll();
+        refreshTokenCache.invalidateAll();
         log.info("Purge of inactive users completed.");
     }
 
@@ -413,10 +451,13 @@ public class UserServiceImpl implements UserService {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(hours);
         log.warn("Purging users older than {} hours", cutoff);
         userRepository.deleteUnverifiedUsersBefore(cutoff);
+        userDetailsCache.invalidateAll();
+        refreshTokenCache.invalidateAll();
         log.info("Purge of unverified users completed.");
     }
 
     @Override
+    @Transactional
     public void resendVerificationEmail(String email) {
         log.info("Attempting to resend verification email to {}", email);
         User user = userRepository.findByEmail(email)
@@ -427,21 +468,28 @@ public class UserServiceImpl implements UserService {
             return;
         }
 
+        // Repeated requests collapse into the email already queued, or reuse its still valid token.
+        VerificationEmailCoalescer.Claim claim = verificationEmailCoalescer.claim(user);
+        if (!claim.send()) {
+            log.info("Verification email to {} was queued moments ago. No email sent.", email);
+            return;
+        }
+        if (claim.token() != null) {
+            emailOutbox.queueVerificationEmail(user.getEmail(), claim.token());
+            log.info("Queued verification email for {} with the outstanding token", email);
+            return;
+        }
+
         // Generate a new token and send the email
-        String tokenValue = UUID.randomUUID().toString();
-        VerificationToken verificationToken = VerificationToken.builder()
-                .token(tokenValue)
-                .user(user)
-                .type(VerificationToken.TokenType.EMAIL_VERIFICATION)
-                .expiryDate(Instant.now().plusSeconds(86400)) // 24 hours
-                .build();
-        verificationTokenRepository.save(verificationToken);
+        String tokenValue = verificationTokenService.issue(user, VerificationToken.TokenType.EMAIL_VERIFICATION);
 
-        emailService.sendVerificationEmail(user.getEmail(), tokenValue);
-        log.info("Successfully resent verification email to {}", email);
+        emailOutbox.queueVerificationEmail(user.getEmail(), tokenValue);
+        verificationEmailCoalescer.recordIssued(user, tokenValue);
+        log.info("Successfully queued verification email for {}", email);
     }
 
     @Override
+    @Transactional
     public void updateUserEmail(Long userId, String newEmail) {
         log.info("Updating email for user ID: {} to new email: {}", userId, newEmail);
         User user = userRepository.findById(userId)
@@ -450,22 +498,24 @@ public class UserServiceImpl implements UserService {
             log.warn("Email update failed: Email {} is already taken.", newEmail);
             throw new EmailAlreadyExistsException("Error: Email '" + newEmail + "' is already in use!");
         } else {
+            String oldEmail = user.getEmail();
             user.setEmail(newEmail);
             user.setEmailVerified(false); // Require re-verification for new email
+            // Tokens and cached users on other nodes still carry the old email.
+            bumpTokenVersion(user);
             userRepository.save(user);
+            tokenVersionRegistry.update(user.getUserId(), user.getTokenVersion());
+            userDetailsCache.invalidate(oldEmail);
+            verificationEmailCoalescer.invalidate(oldEmail);
+            // Cached refresh tokens remember the owner's email.
+            refreshTokenCache.invalidateUser(userId);
             log.info("User email updated successfully to {}. Verification required.", newEmail);
 
             // Generate and send a new verification email
-            String tokenValue = UUID.randomUUID().toString();
-            VerificationToken verificationToken = VerificationToken.builder()
-                    .token(tokenValue)
-                    .user(user)
-                    .type(VerificationToken.TokenType.EMAIL_VERIFICATION)
-                    .expiryDate(Instant.now().plusSeconds(86400)) // 24 hours
-                    .build();
-            verificationTokenRepository.save(verificationToken);
-            emailService.sendVerificationEmail(newEmail, tokenValue);
-            log.info("Verification email sent to new address: {}", newEmail);
+            String tokenValue = verificationTokenService.issue(user, VerificationToken.TokenType.EMAIL_VERIFICATION);
+            emailOutbox.queueVerificationEmail(newEmail, tokenValue);
+            verificationEmailCoalescer.recordIssued(user, tokenValue);
+            log.info("Verification email queued for new address: {}", newEmail);
         }
     }
 
@@ -474,8 +524,8 @@ public class UserServiceImpl implements UserService {
         log.info("Updating last active email for user ID: {}", email);
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-        userRepository.updateLastLogin(user.getUserId(), LocalDateTime.now());
-        log.info("User last active time updated successfully for email: {}", email);
+        lastActivityBuffer.record(user.getUserId(), LocalDateTime.now());
+        log.info("User last active time recorded for email: {}", email);
     }
 
     // Login Attempt Tracking (Security) methods
@@ -483,21 +533,21 @@ public class UserServiceImpl implements UserService {
     @Override
     public void recordLoginAttempt(String email, boolean successful) {
         log.info("Recording login attempt for email: {}. Successful: {}", email, successful);
-        // Create LoginAttempt using the builder pattern
-        LoginAttempt loginAttempt = LoginAttempt.builder()
-                .email(email)
-                .successful(successful)
-                .build();
-        loginAttemptRepository.save(loginAttempt);
-        log.info("Login attempt recorded for email: {}", email);
+        // Written asynchronously in batches; attempts made through the AuthenticationManager are journaled automatically.
+        loginAttemptJournal.record(email, successful);
+        log.info("Login attempt queued for email: {}", email);
     }
 
     @Override
-    public List<LoginAttemptResponse> getLoginAttempts(String email) {
+    public CursorPage<LoginAttemptResponse> getLoginAttempts(String email, LocalDateTime from, LocalDateTime to,
+                                                             Boolean successful, String cursor, int limit) {
         log.info("Fetching login attempts for email: {}", email);
-        List<LoginAttempt> loginAttempts = loginAttemptRepository.findByEmailOrderByTimestampDesc(email);
+        int pageSize = pageSize(limit);
+        TimeCursor position = timeCursor(cursor);
+        List<LoginAttempt> loginAttempts = loginAttemptRepository.findPage(
+                email, from, to, successful, position.at(), position.id(), pageSize);
 
-        return loginAttempts.stream()
+        List<LoginAttemptResponse> items = loginAttempts.stream()
                 .map(attempt -> new LoginAttemptResponse(
                         attempt.getId(),
                         attempt.getEmail(),
@@ -505,5 +555,90 @@ public class UserServiceImpl implements UserService {
                         attempt.getTimestamp()
                 ))
                 .collect(Collectors.toList());
+        // A short page is the last one.
+        String nextCursor = null;
+        if (loginAttempts.size() == pageSize) {
+            LoginAttempt last = loginAttempts.get(loginAttempts.size() - 1);
+            nextCursor = encodeCursor(last.getTimestamp().toString(), String.valueOf(last.getId()));
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Helper methods
+
+    /**
+     * Cursors are opaque to clients: the position values joined with '|' and Base64url encoded.
+     */
+    private static String encodeCursor(String... position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join("|", position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Reads a cursor holding a userId only. A missing cursor means the first page and yields null.
+     */
+    private static Long idCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decodeCursor(cursor)[0]);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Reads a cursor holding a timestamp and an id. A missing cursor means the first page and yields nulls.
+     */
+    private static TimeCursor timeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new TimeCursor(null, null);
+        }
+        String[] position = decodeCursor(cursor);
+        try {
+            return new TimeCursor(LocalDateTime.parse(position[0]), Long.parseLong(position[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Maps one page of users. The next cursor is the last user's position: its userId alone when sortKey is null,
+     * otherwise the sort key and the userId. A short page is the last one.
+     */
+    private CursorPage<UserResponse> toUserPage(List<User> users, int pageSize, Function<User, LocalDateTime> sortKey) {
+        List<UserResponse> items = userMapper.toUserResponseList(users);
+        String nextCursor = null;
+        if (users.size() == pageSize) {
+            User last = users.get(users.size() - 1);
+            nextCursor = sortKey == null
+                    ? encodeCursor(String.valueOf(last.getUserId()))
+                    : encodeCursor(sortKey.apply(last).toString(), String.valueOf(last.getUserId()));
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Revokes every access token issued to the user so far. The new version takes effect once the user is saved.
+     */
+    private void bumpTokenVersion(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+
+    // A keyset position on a (timestamp, id) sort key; both null on the first page.
+    private record TimeCursor(LocalDateTime at, Long id) {
     }
 }
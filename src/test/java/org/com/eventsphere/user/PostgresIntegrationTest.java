@@ -0,0 +1,39 @@
+package org.com.eventsphere.user;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * PostgresIntegrationTest
+ * Base class for tests that need the application running against a real Postgres. One container is started
+ * for the whole test run and shared by every subclass.
+ * The tests are skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "SERVER_PORT=0",
+        "JWT_SECRET=integration-test-secret-integration-test-secret",
+        "JWT_EXPIRATION=3600000",
+        "EMAIL_USERNAME=noreply@example.com",
+        "EMAIL_PASSWORD=unused",
+        // Skips the calibration run at startup; the lowest BCrypt work factor keeps the tests fast.
+        "security.password-hashing.strength=4"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        // Started here rather than in a static initializer, so that the Docker check above runs first.
+        POSTGRES.start();
+        registry.add("POSTGRES_HOST", POSTGRES::getHost);
+        registry.add("POSTGRES_PORT", () -> POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT));
+        registry.add("POSTGRES_DB", POSTGRES::getDatabaseName);
+        registry.add("POSTGRES_USER", POSTGRES::getUsername);
+        registry.add("POSTGRES_PASSWORD", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,45 @@
+package org.com.eventsphere.user.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * BenchmarkTest
+ * Starts the JMH benchmarks in this package. They are tagged "benchmark", which the default build excludes;
+ * run them with mvn test -Pbenchmark. Results are printed and written to target/jmh-&lt;benchmark&gt;.json.
+ */
+@Tag("benchmark")
+class BenchmarkTest {
+
+    @Test
+    void jwtVerification() throws RunnerException {
+        run(JwtVerificationBenchmark.class);
+    }
+
+    @Test
+    void emailTemplates() throws RunnerException {
+        run(EmailTemplateBenchmark.class);
+    }
+
+    // Private helper methods
+
+    private static void run(Class<?> benchmark) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(benchmark.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .result("target/jmh-" + benchmark.getSimpleName() + ".json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
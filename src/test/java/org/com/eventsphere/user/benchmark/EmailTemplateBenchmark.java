@@ -0,0 +1,58 @@
+package org.com.eventsphere.user.benchmark;
+
+import org.com.eventsphere.user.service.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmailTemplateBenchmark
+ * Compares building the verification email body with the string concatenation EmailService used before,
+ * against rendering the compiled verification template. The template renders the subject and an HTML part
+ * as well, so it does more work than the concatenation it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailTemplateBenchmark {
+
+    private static final String TOKEN = "3f2b8c1e-6a4d-4f7e-9b1a-2c5d8e7f0a9b";
+
+    private EmailTemplateEngine engine;
+    private Map<String, String> model;
+    // A field rather than the constant, so the compiler cannot fold the concatenation away.
+    private String token = TOKEN;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "location", "classpath:email-templates/");
+        ReflectionTestUtils.setField(engine, "defaultLocale", "en");
+        ReflectionTestUtils.invokeMethod(engine, "init");
+        model = Map.of("baseUrl", "http://localhost:8081", "token", TOKEN, "email", "alice@example.com");
+    }
+
+    @Benchmark
+    public String concatenation() {
+        String verificationLink = "http://localhost:8081/api/v1/auth/verify-email?token=" + token;
+        return "Thank you for registering with EventSphere!\n\n" +
+                "Please click the link below to verify your email address and activate your account:\n" +
+                verificationLink + "\n\n" +
+                "This link will expire in 24 hours.\n\n" +
+                "Best regards,\nThe EventSphere Team";
+    }
+
+    @Benchmark
+    public EmailTemplateEngine.RenderedEmail compiledTemplate() {
+        return engine.render("verification", Locale.ENGLISH, model);
+    }
+}
@@ -0,0 +1,79 @@
+package org.com.eventsphere.user.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.com.eventsphere.user.entity.Role;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.security.VerifiedClaims;
+import org.com.eventsphere.user.service.JwtService;
+import org.com.eventsphere.user.service.SigningKeyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtVerificationBenchmark
+ * Compares what JwtAuthenticationFilter costs per request before and after the single-parse change:
+ * - doubleParse: the previous path, which rebuilt the HMAC key and the parser and verified the token twice,
+ *   once in extractUsername and once in isTokenValid, without checking expiry.
+ * - verifyOnce: JwtService.verifyToken with the shared key and parser, then isTokenValid on the verified claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SigningKeyService signingKeyService = new SigningKeyService(null, null);
+        ReflectionTestUtils.setField(signingKeyService, "signingAlgorithm", "HS256");
+        jwtService = new JwtService(signingKeyService);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        user = User.builder()
+                .userId(42L)
+                .email("benchmark@example.com")
+                .role(Role.USER)
+                .tokenVersion(0)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean doubleParse() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(user.getUsername()) && legacyClaims(token).getSubject().equals(user.getUsername());
+    }
+
+    @Benchmark
+    public boolean verifyOnce() {
+        VerifiedClaims claims = jwtService.verifyToken(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    // Private helper methods
+
+    // The parsing code as it was before the change, key derivation included.
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
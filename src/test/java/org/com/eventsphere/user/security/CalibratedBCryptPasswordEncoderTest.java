@@ -0,0 +1,44 @@
+package org.com.eventsphere.user.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    private final CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+    @Test
+    void hashOfTheCurrentStrengthNeedsNoUpgrade() {
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void weakerAndStrongerHashesAreUpgraded() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void hashesOfAnyStrengthStillMatch() {
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        assertThat(encoder.matches("secret", weaker)).isTrue();
+        assertThat(encoder.matches("wrong", weaker)).isFalse();
+    }
+
+    @Test
+    void malformedHashesAreNotUpgraded() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("")).isFalse();
+        assertThat(encoder.upgradeEncoding("$2a$")).isFalse();
+        assertThat(encoder.upgradeEncoding("$2a$xx$abcdefghijklmnopqrstuv")).isFalse();
+        assertThat(encoder.upgradeEncoding("{noop}secret")).isFalse();
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(1, 4, 6).getStrength()).isEqualTo(4);
+        assertThat(CalibratedBCryptPasswordEncoder.calibrate(60_000, 4, 6).getStrength()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,151 @@
+package org.com.eventsphere.user.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.eventsphere.user.exception.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the sketch estimates against known cardinalities. The bounds are several standard errors wide,
+ * and the hashes are deterministic, so the tests do not flake.
+ */
+class CredentialStuffingDetectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CredentialStuffingDetector detector = new CredentialStuffingDetector(meterRegistry, 300, 5, 4, 1024);
+
+    CredentialStuffingDetectorTest() {
+        ReflectionTestUtils.setField(detector, "subnetDistinctEmails", 20);
+        ReflectionTestUtils.setField(detector, "degradedSubnetDistinctEmails", 5);
+        ReflectionTestUtils.setField(detector, "subnetMaxFailures", 200L);
+        ReflectionTestUtils.setField(detector, "globalFailureRatio", 0.5);
+        ReflectionTestUtils.setField(detector, "globalMinAttempts", 100L);
+    }
+
+    @Test
+    void estimatesDistinctFailedEmailsWithinTenPercent() {
+        int distinct = 10_000;
+        for (int i = 0; i < distinct; i++) {
+            detector.record("user" + i + "@example.com", address(i), false);
+        }
+        detector.advance();
+
+        assertThat(gauge("login.stuffing.distinct.failed.emails")).isCloseTo(distinct, within(distinct * 0.1));
+    }
+
+    @Test
+    void countsRepeatedEmailsOnce() {
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                detector.record("User" + i + "@Example.com ", address(i), false);
+            }
+        }
+        detector.advance();
+
+        assertThat(gauge("login.stuffing.distinct.failed.emails")).isCloseTo(100, within(15.0));
+    }
+
+    @Test
+    void rejectsASubnetTryingManyEmails() {
+        for (int i = 0; i < 40; i++) {
+            // Spread over the /24, as a botnet within one network would be.
+            detector.record("victim" + i + "@example.com", "203.0.113." + (i % 250 + 1), false);
+        }
+
+        assertThatThrownBy(() -> detector.checkAllowed("203.0.113.200"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> detector.checkAllowed("198.51.100.1")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("login.stuffing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void allowsASubnetRetryingAFewEmails() {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 10; i++) {
+                detector.record("user" + i + "@example.com", "203.0.113.10", false);
+            }
+        }
+
+        assertThatCode(() -> detector.checkAllowed("203.0.113.10")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void groupsIpv6AddressesByTheirSlash64() {
+        for (int i = 0; i < 40; i++) {
+            detector.record("victim" + i + "@example.com", "2001:db8:1:2::" + Integer.toHexString(i + 1), false);
+        }
+
+        assertThatThrownBy(() -> detector.checkAllowed("2001:db8:1:2:ffff::1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> detector.checkAllowed("2001:db8:1:3::1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsASubnetOverItsFailureLimit() {
+        for (int i = 0; i < 200; i++) {
+            detector.record("user@example.com", "203.0.113.10", false);
+        }
+
+        assertThatThrownBy(() -> detector.checkAllowed("203.0.113.10"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void backgroundTrafficDoesNotPushAQuietSubnetOverTheLimit() {
+        // Every subnet shares its sketch cells with others; the minimum over the rows keeps the overestimate small.
+        for (int subnet = 0; subnet < 2000; subnet++) {
+            for (int i = 0; i < 2; i++) {
+                detector.record("user" + subnet + "-" + i + "@example.com", address(subnet), false);
+            }
+        }
+
+        assertThatCode(() -> detector.checkAllowed("192.0.2.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void entersDegradedModeOnAHighGlobalFailureRatio() {
+        for (int i = 0; i < 60; i++) {
+            detector.record("user" + i + "@example.com", address(i), false);
+        }
+        for (int i = 0; i < 40; i++) {
+            detector.record("user" + i + "@example.com", address(i), true);
+        }
+        for (int i = 0; i < 8; i++) {
+            detector.record("victim" + i + "@example.com", "203.0.113.10", false);
+        }
+        assertThatCode(() -> detector.checkAllowed("203.0.113.10")).doesNotThrowAnyException();
+
+        detector.advance();
+
+        assertThat(detector.isDegraded()).isTrue();
+        assertThat(gauge("login.stuffing.degraded")).isEqualTo(1);
+        assertThat(gauge("login.stuffing.failure.ratio")).isCloseTo(68.0 / 108, within(0.001));
+        // The lowered per-subnet limit now applies.
+        assertThatThrownBy(() -> detector.checkAllowed("203.0.113.10"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void ignoresMissingAddresses() {
+        detector.record("user@example.com", null, false);
+
+        assertThatCode(() -> detector.checkAllowed(null)).doesNotThrowAnyException();
+        assertThatCode(() -> detector.checkAllowed("")).doesNotThrowAnyException();
+    }
+
+    // Private helper methods
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    // One address in each of many /24 networks, so no single subnet trips its limits.
+    private static String address(int subnet) {
+        return "10." + (subnet / 250 % 250) + "." + (subnet % 250) + ".1";
+    }
+}
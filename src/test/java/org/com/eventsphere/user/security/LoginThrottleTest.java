@@ -0,0 +1,125 @@
+package org.com.eventsphere.user.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.com.eventsphere.user.dto.LoginLockoutResponse;
+import org.com.eventsphere.user.exception.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LoginThrottleTest {
+
+    private static final String IP = "198.51.100.7";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void locksOutAnEmailAtTheLimitWhateverItsCase() {
+        LoginThrottle throttle = throttle(900, 15, 3, 100, 1000);
+        throttle.recordFailure("Alice@Example.com", IP);
+        throttle.recordFailure("alice@example.com ", IP);
+        assertThatCode(() -> throttle.checkAllowed("alice@example.com", "203.0.113.1")).doesNotThrowAnyException();
+
+        throttle.recordFailure("ALICE@example.com", IP);
+
+        assertThatThrownBy(() -> throttle.checkAllowed("alice@example.com", "203.0.113.1"))
+                .isInstanceOfSatisfying(TooManyLoginAttemptsException.class, e ->
+                        assertThat(e.getRetryAfterSeconds()).isBetween(1L, 900L));
+        assertThat(meterRegistry.get("login.throttle.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void locksOutAnAddressThatTriesManyEmails() {
+        LoginThrottle throttle = throttle(900, 15, 100, 3, 1000);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user" + i + "@example.com", IP);
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("someone-else@example.com", IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThatCode(() -> throttle.checkAllowed("someone-else@example.com", "203.0.113.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successClearsTheEmailButNotTheAddress() {
+        LoginThrottle throttle = throttle(900, 15, 2, 2, 1000);
+        throttle.recordFailure("alice@example.com", IP);
+        throttle.recordFailure("alice@example.com", IP);
+
+        throttle.recordSuccess("alice@example.com");
+
+        assertThatCode(() -> throttle.checkAllowed("alice@example.com", "203.0.113.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> throttle.checkAllowed("bob@example.com", IP))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void listsLockedOutEmailsAndAddresses() {
+        LoginThrottle throttle = throttle(900, 15, 2, 2, 1000);
+        throttle.recordFailure("alice@example.com", IP);
+        throttle.recordFailure("alice@example.com", IP);
+        throttle.recordFailure("bob@example.com", "203.0.113.1");
+
+        assertThat(throttle.getLockouts())
+                .extracting(LoginLockoutResponse::getType, LoginLockoutResponse::getKey, LoginLockoutResponse::getFailures)
+                .containsExactlyInAnyOrder(
+                        tuple("email", "alice@example.com", 2),
+                        tuple("ip", IP, 2));
+    }
+
+    @Test
+    void expiresKeysOnceTheWindowHasPassed() throws InterruptedException {
+        // A one second window in ten buckets of 100 ms.
+        LoginThrottle throttle = throttle(1, 10, 2, 100, 1000);
+        throttle.expireIdleKeys();
+        throttle.recordFailure("alice@example.com", IP);
+        throttle.recordFailure("alice@example.com", IP);
+        assertThatThrownBy(() -> throttle.checkAllowed("alice@example.com", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        Thread.sleep(1250);
+        throttle.expireIdleKeys();
+
+        assertThatCode(() -> throttle.checkAllowed("alice@example.com", null)).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("login.throttle.tracked.keys").gauge().value()).isZero();
+    }
+
+    @Test
+    void evictsOneOffKeysAtTheCapAndKeepsLockedOutOnes() {
+        LoginThrottle throttle = throttle(900, 15, 3, 1000, 4);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("target@example.com", null);
+        }
+
+        // An attacker sprays far more random emails than the cap holds.
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure("spray" + i + "@example.com", null);
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("target@example.com", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThat(meterRegistry.get("login.throttle.tracked.keys").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("login.throttle.evicted").counter().count()).isEqualTo(97);
+    }
+
+    @Test
+    void tracksNewKeysAtTheCap() {
+        LoginThrottle throttle = throttle(900, 15, 1, 1000, 2);
+        throttle.recordFailure("first@example.com", null);
+        throttle.recordFailure("second@example.com", null);
+
+        throttle.recordFailure("third@example.com", null);
+
+        assertThatThrownBy(() -> throttle.checkAllowed("third@example.com", null))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    // Private helper methods
+
+    private LoginThrottle throttle(long windowSeconds, int buckets, int maxFailuresPerEmail, int maxFailuresPerIp, int maxKeys) {
+        return new LoginThrottle(meterRegistry, windowSeconds, buckets, maxFailuresPerEmail, maxFailuresPerIp, maxKeys);
+    }
+}
@@ -0,0 +1,67 @@
+package org.com.eventsphere.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void readsEachUserOnceWithinTheRefreshInterval() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000, 100);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void updateAndDeletionRevokeWithoutADatabaseRead() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000, 100);
+
+        registry.update(1L, 4);
+        registry.markDeleted(2L);
+
+        assertThat(registry.isCurrent(1L, 3)).isFalse();
+        assertThat(registry.isCurrent(1L, 4)).isTrue();
+        assertThat(registry.isCurrent(2L, 0)).isFalse();
+        verify(userRepository, times(0)).findTokenVersionById(anyLong());
+    }
+
+    @Test
+    void reReadsAVersionOnceTheRefreshIntervalPassed() throws InterruptedException {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 20, 100);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+
+        assertThat(registry.isCurrent(1L, 0)).isTrue();
+        Thread.sleep(50);
+
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+    }
+
+    @Test
+    void staysWithinMaxEntriesWhenEveryEntryIsFresh() {
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 60_000, 100);
+
+        for (long userId = 0; userId < 10_000; userId++) {
+            registry.update(userId, 0);
+        }
+
+        Cache<?, ?> versions = (Cache<?, ?>) ReflectionTestUtils.getField(registry, "versions");
+        versions.cleanUp();
+        assertThat(versions.estimatedSize()).isLessThanOrEqualTo(100);
+    }
+}
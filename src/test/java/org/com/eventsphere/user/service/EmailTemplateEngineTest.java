@@ -0,0 +1,174 @@
+package org.com.eventsphere.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    @TempDir
+    Path templates;
+
+    @Test
+    void rendersTheBundledVerificationEmail() {
+        EmailTemplateEngine engine = engine("classpath:email-templates/", "en", false);
+
+        EmailTemplateEngine.RenderedEmail email = engine.render("verification", Locale.ENGLISH,
+                Map.of("baseUrl", "https://events.example.com", "token", "abc123", "email", "alice@example.com"));
+
+        assertThat(email.subject()).isEqualTo("Welcome to EventSphere! Please Verify Your Email");
+        assertThat(email.text())
+                .startsWith("Thank you for registering with EventSphere!")
+                .contains("https://events.example.com/api/v1/auth/verify-email?token=abc123")
+                .endsWith("The EventSphere Team");
+        assertThat(email.html()).contains("href=\"https://events.example.com/api/v1/auth/verify-email?token=abc123\"");
+    }
+
+    @Test
+    void escapesValuesInTheHtmlSectionOnly() throws IOException {
+        write("greeting.tmpl", """
+                --- subject
+                Hello {{name}}
+                --- text
+                Hello {{name}}
+                --- html
+                <p>Hello {{name}}</p>
+                """);
+        EmailTemplateEngine engine = engine(location(), "en", false);
+
+        EmailTemplateEngine.RenderedEmail email = engine.render("greeting", null, Map.of("name", "<b>Tom & \"Jerry's\"</b>"));
+
+        assertThat(email.subject()).isEqualTo("Hello <b>Tom & \"Jerry's\"</b>");
+        assertThat(email.text()).isEqualTo("Hello <b>Tom & \"Jerry's\"</b>");
+        assertThat(email.html()).isEqualTo("<p>Hello &lt;b&gt;Tom &amp; &quot;Jerry&#39;s&quot;&lt;/b&gt;</p>");
+    }
+
+    @Test
+    void fallsBackFromCountryToLanguageToDefaultLocale() throws IOException {
+        write("greeting.tmpl", template("bare"));
+        write("greeting_en.tmpl", template("en"));
+        write("greeting_de.tmpl", template("de"));
+        write("greeting_de_AT.tmpl", template("de_AT"));
+        EmailTemplateEngine engine = engine(location(), "en", false);
+
+        assertThat(subject(engine, Locale.forLanguageTag("de-AT"))).isEqualTo("de_AT");
+        assertThat(subject(engine, Locale.forLanguageTag("de-CH"))).isEqualTo("de");
+        assertThat(subject(engine, Locale.GERMAN)).isEqualTo("de");
+        assertThat(subject(engine, Locale.FRENCH)).isEqualTo("en");
+        assertThat(subject(engine, null)).isEqualTo("en");
+        assertThat(subject(engine(location(), "fr", false), Locale.ITALIAN)).isEqualTo("bare");
+    }
+
+    @Test
+    void leavesHtmlOutWhenTheTemplateHasNone() throws IOException {
+        write("plain.tmpl", """
+                --- subject
+                Subject
+                --- text
+                Line one
+
+                Line two
+
+
+                """);
+        EmailTemplateEngine engine = engine(location(), "en", false);
+
+        EmailTemplateEngine.RenderedEmail email = engine.render("plain", null, Map.of());
+
+        assertThat(email.text()).isEqualTo("Line one\n\nLine two");
+        assertThat(email.html()).isNull();
+    }
+
+    @Test
+    void rejectsMissingTemplatesAndValues() throws IOException {
+        write("greeting.tmpl", template("{{name}}"));
+        EmailTemplateEngine engine = engine(location(), "en", false);
+
+        assertThatThrownBy(() -> engine.render("unknown", null, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.render("greeting", null, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("name");
+    }
+
+    @Test
+    void rejectsMalformedTemplatesAtStartup() throws IOException {
+        write("broken.tmpl", "--- subject\nHello {{name\n--- text\nHello\n");
+        assertThatThrownBy(() -> engine(location(), "en", false)).hasMessageContaining("unclosed");
+
+        write("broken.tmpl", "--- subject\nHello\n--- footer\nBye\n");
+        assertThatThrownBy(() -> engine(location(), "en", false)).hasMessageContaining("unknown section");
+
+        write("broken.tmpl", "--- subject\nHello\n");
+        assertThatThrownBy(() -> engine(location(), "en", false)).hasMessageContaining("text section");
+    }
+
+    @Test
+    void hotReloadPicksUpChangesAndKeepsTheLastGoodSet() throws IOException {
+        write("greeting.tmpl", template("first"));
+        EmailTemplateEngine engine = engine(location(), "en", true);
+
+        write("greeting.tmpl", template("second version"));
+        engine.reloadIfChanged();
+        assertThat(subject(engine, null)).isEqualTo("second version");
+
+        write("greeting.tmpl", "--- subject\nno text section\n");
+        engine.reloadIfChanged();
+        assertThat(subject(engine, null)).isEqualTo("second version");
+    }
+
+    @Test
+    void ignoresChangesWithoutHotReload() throws IOException {
+        write("greeting.tmpl", template("first"));
+        EmailTemplateEngine engine = engine(location(), "en", false);
+
+        write("greeting.tmpl", template("second version"));
+        engine.reloadIfChanged();
+
+        assertThat(subject(engine, null)).isEqualTo("first");
+    }
+
+    // Private helper methods
+
+    private static EmailTemplateEngine engine(String location, String defaultLocale, boolean hotReload) {
+        EmailTemplateEngine engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "location", location);
+        ReflectionTestUtils.setField(engine, "defaultLocale", defaultLocale);
+        ReflectionTestUtils.setField(engine, "hotReload", hotReload);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+        return engine;
+    }
+
+    private static String subject(EmailTemplateEngine engine, Locale locale) {
+        return engine.render("greeting", locale, Map.of()).subject();
+    }
+
+    private static String template(String subject) {
+        return "--- subject\n" + subject + "\n--- text\nBody\n";
+    }
+
+    private String location() {
+        return templates.toUri().toString();
+    }
+
+    private void write(String filename, String content) throws IOException {
+        Path file = templates.resolve(filename);
+        boolean existed = Files.exists(file);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        if (existed) {
+            // File systems with coarse timestamps could otherwise report the old modification time.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        }
+    }
+}
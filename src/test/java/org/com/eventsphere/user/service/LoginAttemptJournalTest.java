@@ -0,0 +1,145 @@
+package org.com.eventsphere.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptJournalTest {
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void drainsInOrderInBatches() {
+        LoginAttemptJournal journal = new LoginAttemptJournal(jdbcTemplate, meterRegistry, 16, 2);
+        for (int i = 0; i < 5; i++) {
+            journal.record("user" + i + "@example.com", i % 2 == 0);
+        }
+
+        journal.drain();
+
+        assertThat(jdbcTemplate.batches).extracting(args -> args.length).containsExactly(6, 6, 3);
+        assertThat(jdbcTemplate.emails()).containsExactly(
+                "user0@example.com", "user1@example.com", "user2@example.com", "user3@example.com", "user4@example.com");
+        assertThat(jdbcTemplate.batches.get(0)[1]).isEqualTo(true);
+        assertThat(jdbcTemplate.batches.get(0)[4]).isEqualTo(false);
+        assertThat(counter("login.attempts.written")).isEqualTo(5);
+    }
+
+    @Test
+    void dropsAttemptsWhenFull() {
+        // A requested capacity of 3 is rounded up to 4 slots.
+        LoginAttemptJournal journal = new LoginAttemptJournal(jdbcTemplate, meterRegistry, 3, 100);
+        for (int i = 0; i < 6; i++) {
+            journal.record("user" + i + "@example.com", false);
+        }
+
+        journal.drain();
+
+        assertThat(jdbcTemplate.emails()).containsExactly(
+                "user0@example.com", "user1@example.com", "user2@example.com", "user3@example.com");
+        assertThat(counter("login.attempts.recorded")).isEqualTo(4);
+        assertThat(counter("login.attempts.dropped")).isEqualTo(2);
+    }
+
+    @Test
+    void reusesSlotsAfterWrappingAround() {
+        LoginAttemptJournal journal = new LoginAttemptJournal(jdbcTemplate, meterRegistry, 4, 100);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) {
+                journal.record("round" + round + "-" + i + "@example.com", true);
+            }
+            journal.drain();
+        }
+
+        assertThat(jdbcTemplate.emails()).hasSize(9).startsWith("round0-0@example.com").endsWith("round2-2@example.com");
+        assertThat(counter("login.attempts.dropped")).isZero();
+        assertThat(meterRegistry.get("login.attempts.journal.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void countsAFailedBatchAsDropped() {
+        jdbcTemplate.failing = true;
+        LoginAttemptJournal journal = new LoginAttemptJournal(jdbcTemplate, meterRegistry, 16, 100);
+        journal.record("user@example.com", false);
+
+        journal.drain();
+
+        assertThat(counter("login.attempts.dropped")).isEqualTo(1);
+        assertThat(counter("login.attempts.written")).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingBelowCapacity() throws InterruptedException {
+        int threads = 4;
+        int perThread = 1000;
+        LoginAttemptJournal journal = new LoginAttemptJournal(jdbcTemplate, meterRegistry, threads * perThread, 500);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    journal.record("t" + thread + "-" + i + "@example.com", false);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        journal.drain();
+
+        List<String> emails = jdbcTemplate.emails();
+        assertThat(emails).hasSize(threads * perThread);
+        assertThat(new HashSet<>(emails)).hasSize(threads * perThread);
+        assertThat(counter("login.attempts.dropped")).isZero();
+    }
+
+    // Private helper methods
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private final List<Object[]> batches = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            batches.add(args);
+            return args.length / 3;
+        }
+
+        List<String> emails() {
+            List<String> emails = new ArrayList<>();
+            for (Object[] args : batches) {
+                for (int i = 0; i < args.length; i += 3) {
+                    emails.add((String) args[i]);
+                }
+            }
+            return emails;
+        }
+    }
+}
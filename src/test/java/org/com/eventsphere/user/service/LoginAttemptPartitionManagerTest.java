@@ -0,0 +1,67 @@
+package org.com.eventsphere.user.service;
+
+import org.com.eventsphere.user.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LoginAttemptPartitionManagerTest
+ * Runs the partition maintenance against Postgres with rows stranded in the default partition, which Postgres
+ * would otherwise refuse to create a partition over.
+ */
+class LoginAttemptPartitionManagerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private LoginAttemptPartitionManager partitionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesStrandedRowsIntoTheirNewPartition() {
+        int premake = (int) ReflectionTestUtils.getField(partitionManager, "premake");
+        // The month after the last one made ahead of time, so the row has no partition yet.
+        LocalDateTime beyondPremake = LocalDate.now().withDayOfMonth(1).plusMonths(premake + 1).atStartOfDay();
+        long id = insertAttempt("stranded@example.com", beyondPremake);
+        assertThat(partitionOf(id)).isEqualTo("login_attempts_pdefault");
+
+        ReflectionTestUtils.setField(partitionManager, "premake", premake + 1);
+        try {
+            partitionManager.maintain();
+        } finally {
+            ReflectionTestUtils.setField(partitionManager, "premake", premake);
+        }
+
+        assertThat(partitionOf(id)).isEqualTo("login_attempts_p" + beyondPremake.format(DateTimeFormatter.ofPattern("yyyyMM")));
+    }
+
+    @Test
+    void deletesExpiredRowsFromTheDefaultPartition() {
+        long id = insertAttempt("expired@example.com", LocalDateTime.now().minusYears(2));
+        assertThat(partitionOf(id)).isEqualTo("login_attempts_pdefault");
+
+        partitionManager.maintain();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM login_attempts WHERE id = ?", Integer.class, id))
+                .isZero();
+    }
+
+    // Private helper methods
+
+    private long insertAttempt(String email, LocalDateTime timestamp) {
+        return jdbcTemplate.queryForObject("INSERT INTO login_attempts (email, successful, timestamp) "
+                + "VALUES (?, false, ?) RETURNING id", Long.class, email, timestamp);
+    }
+
+    private String partitionOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM login_attempts WHERE id = ?",
+                String.class, id);
+    }
+}
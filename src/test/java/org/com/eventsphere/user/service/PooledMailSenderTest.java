@@ -0,0 +1,227 @@
+package org.com.eventsphere.user.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sends through PooledMailSender to an in-process GreenMail SMTP server.
+ */
+class PooledMailSenderTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledMailSenderTest.class);
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CountingMailSender sender;
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.destroy();
+        }
+    }
+
+    @Test
+    void sendsABatchOverOneConnection() throws MessagingException {
+        sender = sender(2, 100, 60_000);
+
+        sender.send(messages(sender, 25));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(25);
+        assertThat(sender.connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesTheConnectionAcrossSends() throws MessagingException {
+        sender = sender(2, 100, 60_000);
+
+        sender.send(messages(sender, 3));
+        sender.send(messages(sender, 3));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(6);
+        assertThat(sender.connections.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.pool.connections.idle").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void opensANewConnectionAfterTheMessageLimit() throws MessagingException {
+        sender = sender(2, 10, 60_000);
+
+        sender.send(messages(sender, 25));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(25);
+        assertThat(sender.connections.get()).isEqualTo(3);
+    }
+
+    @Test
+    void closesIdleConnections() throws Exception {
+        sender = sender(2, 100, 50);
+        sender.send(messages(sender, 1));
+
+        Thread.sleep(100);
+        sender.evictIdleConnections();
+
+        assertThat(meterRegistry.get("mail.pool.connections.idle").gauge().value()).isZero();
+        sender.send(messages(sender, 1));
+        assertThat(sender.connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void recoversWhenThePooledConnectionBroke() throws MessagingException {
+        sender = sender(2, 100, 60_000);
+        sender.send(messages(sender, 1));
+
+        // Restarting the server drops the pooled connection behind the sender's back.
+        greenMail.reset();
+        sender.send(messages(sender, 2));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(sender.connections.get()).isEqualTo(2);
+    }
+
+    @Test
+    void survivesAConnectionDroppedInTheMiddleOfABatch() throws MessagingException {
+        // One connection only: a connection leaked by the dropped send would make every later borrow time out.
+        sender = sender(1, 100, 60_000);
+        MimeMessage[] messages = messages(sender, 5);
+        messages[2] = droppingMessage(sender);
+
+        assertThatThrownBy(() -> sender.send(messages))
+                .isInstanceOfSatisfying(MailSendException.class, e ->
+                        assertThat(e.getFailedMessages()).containsOnlyKeys(messages[2]));
+        assertThat(greenMail.getReceivedMessages()).hasSize(4);
+        assertThat(meterRegistry.get("mail.pool.connections.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("mail.pool.connections.idle").gauge().value()).isEqualTo(1);
+
+        sender.send(messages(sender, 3));
+        assertThat(greenMail.getReceivedMessages()).hasSize(7);
+    }
+
+    @Test
+    void reportsEveryMessageAsFailedWhenTheServerIsUnreachable() throws MessagingException {
+        sender = sender(2, 100, 60_000);
+        sender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        MimeMessage[] messages = messages(sender, 3);
+
+        assertThatThrownBy(() -> sender.send(messages))
+                .isInstanceOfSatisfying(MailSendException.class, e ->
+                        assertThat(e.getFailedMessages()).hasSize(3));
+        assertThat(meterRegistry.get("mail.pool.connections.active").gauge().value()).isZero();
+    }
+
+    /**
+     * Compares emails per second against a sender that connects for every message, as before pooling.
+     * Excluded from the default build; run with mvn test -Pbenchmark.
+     */
+    @Test
+    @Tag("benchmark")
+    void throughputAgainstAConnectionPerMessage() throws MessagingException {
+        int count = 2000;
+        sender = sender(4, 100, 60_000);
+        JavaMailSenderImpl unpooled = new JavaMailSenderImpl();
+        unpooled.setHost(ServerSetupTest.SMTP.getBindAddress());
+        unpooled.setPort(ServerSetupTest.SMTP.getPort());
+
+        double pooledRate = rate(count, () -> sender.send(messages(sender, count)));
+        double unpooledRate = rate(count, () -> {
+            for (MimeMessage message : messages(unpooled, count)) {
+                unpooled.send(message);
+            }
+        });
+
+        log.info("Emails per second: {} pooled, {} with a connection per message",
+                String.format("%.0f", pooledRate), String.format("%.0f", unpooledRate));
+        assertThat(greenMail.getReceivedMessages()).hasSize(2 * count);
+    }
+
+    // Private helper methods
+
+    private CountingMailSender sender(int maxConnections, int maxMessagesPerConnection, long idleTimeoutMs) {
+        CountingMailSender sender = new CountingMailSender(maxConnections, maxMessagesPerConnection, idleTimeoutMs, meterRegistry);
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static MimeMessage[] messages(JavaMailSenderImpl sender, int count) throws MessagingException {
+        MimeMessage[] messages = new MimeMessage[count];
+        for (int i = 0; i < count; i++) {
+            messages[i] = sender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(messages[i], "UTF-8");
+            helper.setFrom("noreply@example.com");
+            helper.setTo("user" + i + "@example.com");
+            helper.setSubject("Message " + i);
+            helper.setText("Body of message " + i);
+        }
+        return messages;
+    }
+
+    /**
+     * A message that closes the connection it is about to be sent over, every time it is sent.
+     */
+    private static MimeMessage droppingMessage(CountingMailSender sender) throws MessagingException {
+        MimeMessage message = new MimeMessage(sender.getSession()) {
+            @Override
+            public Address[] getAllRecipients() throws MessagingException {
+                sender.lastTransport.close();
+                return super.getAllRecipients();
+            }
+        };
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@example.com");
+        helper.setTo("dropped@example.com");
+        helper.setSubject("Dropped");
+        helper.setText("Never delivered");
+        return message;
+    }
+
+    private static double rate(int count, MailAction action) throws MessagingException {
+        long started = System.nanoTime();
+        action.run();
+        return count / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private interface MailAction {
+        void run() throws MessagingException;
+    }
+
+    // Counts the SMTP connections the pool opens and remembers the latest one.
+    private static class CountingMailSender extends PooledMailSender {
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile Transport lastTransport;
+
+        CountingMailSender(int maxConnections, int maxMessagesPerConnection, long idleTimeoutMs, MeterRegistry meterRegistry) {
+            // Connections idle for over 10 ms are checked with a NOOP before reuse.
+            super(maxConnections, maxMessagesPerConnection, idleTimeoutMs, 10, 1000, meterRegistry);
+        }
+
+        @Override
+        protected Transport connectTransport() throws MessagingException {
+            connections.incrementAndGet();
+            lastTransport = super.connectTransport();
+            return lastTransport;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.com.eventsphere.user.service;
+
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.entity.VerificationToken;
+import org.com.eventsphere.user.entity.VerificationToken.TokenType;
+import org.com.eventsphere.user.exception.TokenRefreshException;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.repository.VerificationTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VerificationTokenServiceTest {
+
+    private static final String SECRET = "unit-test-secret-unit-test-secret-unit-test";
+
+    private final VerificationTokenRepository verificationTokenRepository = mock(VerificationTokenRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final User user = User.builder()
+            .userId(42L)
+            .email("alice@example.com")
+            .password("$2a$10$hash")
+            .build();
+
+    private VerificationTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = service("signed", SECRET);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void signedTokenVerifiesWithoutTouchingTheTokenTable() {
+        String token = service.issue(user, TokenType.EMAIL_VERIFICATION);
+
+        assertThat(token).contains(".");
+        assertThat(service.consume(token, TokenType.EMAIL_VERIFICATION)).isSameAs(user);
+        verify(verificationTokenRepository, never()).save(any());
+        verify(verificationTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    void verificationTokenStopsWorkingOnceTheEmailIsVerified() {
+        String token = service.issue(user, TokenType.EMAIL_VERIFICATION);
+        service.consume(token, TokenType.EMAIL_VERIFICATION);
+        user.setEmailVerified(true);
+
+        assertInvalid(token, TokenType.EMAIL_VERIFICATION);
+    }
+
+    @Test
+    void resetTokenStopsWorkingOnceThePasswordChanges() {
+        String token = service.issue(user, TokenType.PASSWORD_RESET);
+        user.setPassword("$2a$10$another-hash");
+
+        assertInvalid(token, TokenType.PASSWORD_RESET);
+    }
+
+    @Test
+    void tokenIsOnlyValidForItsOwnType() {
+        String token = service.issue(user, TokenType.EMAIL_VERIFICATION);
+
+        assertInvalid(token, TokenType.PASSWORD_RESET);
+    }
+
+    @Test
+    void rejectsATamperedBodyOrSignature() {
+        String token = service.issue(user, TokenType.PASSWORD_RESET);
+        int dot = token.indexOf('.');
+
+        assertInvalid(flip(token, 3), TokenType.PASSWORD_RESET);
+        assertInvalid(flip(token, dot + 3), TokenType.PASSWORD_RESET);
+        assertInvalid(token.substring(0, dot - 2) + token.substring(dot), TokenType.PASSWORD_RESET);
+        assertInvalid(token.substring(0, dot + 1), TokenType.PASSWORD_RESET);
+        assertInvalid("not base64!." + token.substring(dot + 1), TokenType.PASSWORD_RESET);
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherSecret() {
+        String forged = service("signed", "another-secret-another-secret-another-secret").issue(user, TokenType.PASSWORD_RESET);
+
+        assertInvalid(forged, TokenType.PASSWORD_RESET);
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        String token = ReflectionTestUtils.invokeMethod(service, "sign", user, TokenType.PASSWORD_RESET,
+                Instant.now().minusSeconds(1));
+
+        assertInvalid(token, TokenType.PASSWORD_RESET);
+    }
+
+    @Test
+    void rejectsATokenOfADeletedUser() {
+        String token = service.issue(user, TokenType.EMAIL_VERIFICATION);
+        when(userRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertInvalid(token, TokenType.EMAIL_VERIFICATION);
+    }
+
+    @Test
+    void databaseModeStoresAndDeletesTheToken() {
+        VerificationTokenService databaseMode = service("database", SECRET);
+        String token = databaseMode.issue(user, TokenType.EMAIL_VERIFICATION);
+
+        ArgumentCaptor<VerificationToken> saved = ArgumentCaptor.forClass(VerificationToken.class);
+        verify(verificationTokenRepository).save(saved.capture());
+        assertThat(token).doesNotContain(".");
+        assertThat(saved.getValue().getToken()).isEqualTo(token);
+        when(verificationTokenRepository.findByTokenWithUser(token)).thenReturn(Optional.of(saved.getValue()));
+
+        assertThat(databaseMode.consume(token, TokenType.EMAIL_VERIFICATION)).isSameAs(user);
+        verify(verificationTokenRepository).delete(saved.getValue());
+    }
+
+    @Test
+    void signedModeStillAcceptsStoredTokens() {
+        VerificationToken stored = VerificationToken.builder()
+                .token("0b6f3a5e-stored")
+                .user(user)
+                .type(TokenType.PASSWORD_RESET)
+                .expiryDate(Instant.now().plusSeconds(60))
+                .build();
+        when(verificationTokenRepository.findByTokenWithUser("0b6f3a5e-stored")).thenReturn(Optional.of(stored));
+
+        assertThat(service.consume("0b6f3a5e-stored", TokenType.PASSWORD_RESET)).isSameAs(user);
+    }
+
+    @Test
+    void expiredStoredTokenIsDeletedAndRejected() {
+        VerificationToken stored = VerificationToken.builder()
+                .token("0b6f3a5e-expired")
+                .user(user)
+                .type(TokenType.PASSWORD_RESET)
+                .expiryDate(Instant.now().minusSeconds(1))
+                .build();
+        when(verificationTokenRepository.findByTokenWithUser("0b6f3a5e-expired")).thenReturn(Optional.of(stored));
+
+        assertInvalid("0b6f3a5e-expired", TokenType.PASSWORD_RESET);
+        verify(verificationTokenRepository).delete(stored);
+    }
+
+    // Private helper methods
+
+    private VerificationTokenService service(String mode, String secret) {
+        VerificationTokenService service = new VerificationTokenService(verificationTokenRepository, userRepository);
+        ReflectionTestUtils.setField(service, "mode", mode);
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    private void assertInvalid(String token, TokenType type) {
+        assertThatThrownBy(() -> service.consume(token, type)).isInstanceOf(TokenRefreshException.class);
+    }
+
+    // Replaces one base64url character with a different one.
+    private static String flip(String token, int index) {
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        return token.substring(0, index) + replacement + token.substring(index + 1);
+    }
+}
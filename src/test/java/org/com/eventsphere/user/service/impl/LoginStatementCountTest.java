@@ -0,0 +1,139 @@
+package org.com.eventsphere.user.service.impl;
+
+import org.com.eventsphere.user.PostgresIntegrationTest;
+import org.com.eventsphere.user.dto.LoginRequest;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LoginStatementCountTest
+ * Counts the SQL statements one login issues on the request thread. Before the single-round-trip change a login
+ * ran at least five: two user loads, two last-login UPDATEs, and a DELETE plus an INSERT for the refresh token.
+ * Now it is the user load on a cache miss, or the token version check on the first cache hit, plus the
+ * refresh token INSERT and the session limit DELETE. Last-login times and login attempts are written later,
+ * in batches, by background threads, which is why only the calling thread is counted.
+ */
+class LoginStatementCountTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStatementCountTest.class);
+
+    private static final String CLIENT_IP = "203.0.113.10";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void loginRunsAtMostThreeStatements() {
+        userRepository.save(User.builder()
+                .email("statement-count@example.com")
+                .password(passwordEncoder.encode("Secret123!"))
+                .firstName("Statement")
+                .lastName("Count")
+                .phoneNumber("+10000000000")
+                .isEmailVerified(true)
+                .build());
+        LoginRequest request = LoginRequest.builder()
+                .email("statement-count@example.com")
+                .password("Secret123!")
+                .build();
+
+        int coldCache = statementCounter.count(() -> userService.loginUser(request, CLIENT_IP));
+        int firstCacheHit = statementCounter.count(() -> userService.loginUser(request, CLIENT_IP));
+        int steadyState = statementCounter.count(() -> userService.loginUser(request, CLIENT_IP));
+        log.info("Statements per login: {} with a cold cache, {} on the first cache hit, {} after that",
+                coldCache, firstCacheHit, steadyState);
+
+        assertThat(coldCache).isLessThanOrEqualTo(3);
+        assertThat(firstCacheHit).isLessThanOrEqualTo(3);
+        assertThat(steadyState).isLessThanOrEqualTo(2);
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+
+        @Bean
+        static StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+
+    /**
+     * Wraps the DataSource and counts the statements prepared or created on the thread inside {@link #count}.
+     */
+    static class StatementCounter implements BeanPostProcessor {
+
+        private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+        private final AtomicInteger statements = new AtomicInteger();
+        private volatile Thread counting;
+
+        int count(Runnable action) {
+            statements.set(0);
+            counting = Thread.currentThread();
+            try {
+                action.run();
+            } finally {
+                counting = null;
+            }
+            return statements.get();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? countingDataSource(dataSource) : bean;
+        }
+
+        // Private helper methods
+
+        private DataSource countingDataSource(DataSource target) {
+            return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        return result instanceof Connection connection ? countingConnection(connection) : result;
+                    });
+        }
+
+        private Connection countingConnection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (STATEMENT_FACTORIES.contains(method.getName()) && Thread.currentThread() == counting) {
+                            statements.incrementAndGet();
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.com.eventsphere.user.service.impl;
+
+import org.com.eventsphere.user.dto.CursorPage;
+import org.com.eventsphere.user.dto.UserResponse;
+import org.com.eventsphere.user.entity.Role;
+import org.com.eventsphere.user.entity.User;
+import org.com.eventsphere.user.exception.InvalidCursorException;
+import org.com.eventsphere.user.mapper.UserMapper;
+import org.com.eventsphere.user.repository.UserRepository;
+import org.com.eventsphere.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * UserCursorTest
+ * Checks that the cursor handed out with one report page leads back to exactly the position after its last user,
+ * and that cursors which were not handed out are rejected rather than silently restarting the report.
+ */
+@ExtendWith(MockitoExtension.class)
+// The follow-up page is requested with arguments the stubs deliberately do not match.
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UserCursorTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+    private static final LocalDateTime START = FROM.atStartOfDay();
+    private static final LocalDateTime END = TO.plusDays(1).atStartOfDay();
+
+    @Mock
+    private UserRepository userRepository;
+    @Spy
+    private UserMapper userMapper = new UserMapper();
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void idCursorResumesAfterTheLastUserOfThePage() {
+        when(userRepository.findPageByRole(Role.ADMIN, null, 2)).thenReturn(List.of(user(3L, null), user(5L, null)));
+
+        CursorPage<UserResponse> page = userService.getUsersByRole("ADMIN", null, 2);
+        userService.getUsersByRole("ADMIN", page.getNextCursor(), 2);
+
+        assertThat(page.getItems()).extracting(UserResponse::getId).containsExactly(3L, 5L);
+        verify(userRepository).findPageByRole(Role.ADMIN, 5L, 2);
+    }
+
+    @Test
+    void timeCursorKeepsTheFullTimestampAndTheTieBreakingId() {
+        // Both users share a timestamp, so the id alone decides where the next page starts.
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000);
+        when(userRepository.findPageCreatedBetween(START, END, null, null, 2))
+                .thenReturn(List.of(user(7L, createdAt), user(9L, createdAt)));
+
+        CursorPage<UserResponse> page = userService.getUsersRegisteredBetween(FROM, TO, null, 2);
+        userService.getUsersRegisteredBetween(FROM, TO, page.getNextCursor(), 2);
+
+        verify(userRepository).findPageCreatedBetween(START, END, createdAt, 9L, 2);
+    }
+
+    @Test
+    void shortPageIsTheLast() {
+        when(userRepository.findPageByRole(Role.ADMIN, null, 2)).thenReturn(List.of(user(3L, null)));
+
+        assertThat(userService.getUsersByRole("ADMIN", null, 2).getNextCursor()).isNull();
+    }
+
+    @Test
+    void blankCursorStartsAtTheFirstPage() {
+        userService.getUsersByRole("ADMIN", " ", 10);
+        userService.getUsersRegisteredBetween(FROM, TO, "", 10);
+
+        verify(userRepository).findPageByRole(Role.ADMIN, null, 10);
+        verify(userRepository).findPageCreatedBetween(START, END, null, null, 10);
+    }
+
+    @Test
+    void limitIsClampedToOneAndTheMaximumPageSize() {
+        userService.getUsersByRole("ADMIN", null, 0);
+        userService.getUsersByRole("USER", null, 10_000);
+
+        verify(userRepository).findPageByRole(Role.ADMIN, null, 1);
+        verify(userRepository).findPageByRole(Role.USER, null, UserService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void cursorThatIsNotBase64IsRejected() {
+        assertThatThrownBy(() -> userService.getUsersByRole("ADMIN", "not*base64", 10))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> userService.getUsersRegisteredBetween(FROM, TO, "not*base64", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void cursorWithANonNumericIdIsRejected() {
+        assertThatThrownBy(() -> userService.getUsersByRole("ADMIN", cursor("abc"), 10))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> userService.getUsersRegisteredBetween(FROM, TO, cursor("2025-03-14T09:26|abc"), 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void timeCursorMissingAPartIsRejected() {
+        assertThatThrownBy(() -> userService.getUsersRegisteredBetween(FROM, TO, cursor("2025-03-14T09:26"), 10))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> userService.getUsersRegisteredBetween(FROM, TO, cursor("yesterday|9"), 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void idCursorIsNotAcceptedWhereATimeCursorIsExpected() {
+        when(userRepository.findPageByRole(Role.ADMIN, null, 1)).thenReturn(List.of(user(3L, null)));
+
+        String idCursor = userService.getUsersByRole("ADMIN", null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> userService.getUsersRegisteredBetween(FROM, TO, idCursor, 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    // Private helper methods
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static User user(Long id, LocalDateTime createdAt) {
+        return User.builder()
+                .userId(id)
+                .email("user" + id + "@example.com")
+                .firstName("User")
+                .lastName(String.valueOf(id))
+                .createdAt(createdAt)
+                .build();
+    }
+}
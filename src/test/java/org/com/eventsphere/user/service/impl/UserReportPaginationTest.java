@@ -0,0 +1,220 @@
+package org.com.eventsphere.user.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.com.eventsphere.user.PostgresIntegrationTest;
+import org.com.eventsphere.user.dto.CursorPage;
+import org.com.eventsphere.user.dto.UserResponse;
+import org.com.eventsphere.user.entity.Role;
+import org.com.eventsphere.user.repository.UserRepositoryImpl;
+import org.com.eventsphere.user.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserReportPaginationTest
+ * Seeds 100,000 users and walks the admin reports page by page: every matching user must come exactly once, in
+ * order, including users that share a registration timestamp. A page deep into the report must also cost what
+ * the first one does. That is checked with EXPLAIN (ANALYZE, BUFFERS) on the statement the repository actually
+ * runs rather than with timings: the composite index is used, it reads no more rows than the page holds, and the
+ * deep page touches about as many buffers as the first.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserReportPaginationTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserReportPaginationTest.class);
+
+    private static final int SEEDED_USERS = 100_000;
+    private static final int PAGE_SIZE = UserService.MAX_PAGE_SIZE;
+    // Every seeded user registers in these days; 20 users share each minute.
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 1, 4);
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE email LIKE 'seed-%@example.com'", Integer.class);
+        if (seeded != null && seeded == SEEDED_USERS) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, phone_number, role, "
+                + "is_active, is_email_verified, token_version, created_at, updated_at, last_login_at) "
+                + "SELECT 'seed-' || i || '@example.com', 'unused', 'Seed', 'User ' || i, '+1000' || i, "
+                + "CASE WHEN i % 10 = 0 THEN 'ORGANIZER' ELSE 'USER' END, i % 7 <> 0, true, 0, "
+                + "TIMESTAMP '2025-01-01 00:00' + (i % 5000) * INTERVAL '1 minute', now(), NULL "
+                + "FROM generate_series(1, ?) AS i", SEEDED_USERS);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    @Test
+    void walkingByRoleReturnsEveryUserOnceInIdOrder() {
+        List<UserResponse> users = walk(cursor -> userService.getUsersByRole("ORGANIZER", cursor, PAGE_SIZE));
+
+        assertThat(users).hasSize(count("SELECT count(*) FROM users WHERE role = 'ORGANIZER'"));
+        assertThat(users).extracting(UserResponse::getId).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void walkingByRegistrationDateKeepsUsersThatShareATimestamp() {
+        List<UserResponse> users = walk(cursor -> userService.getUsersRegisteredBetween(
+                FIRST_DAY, LAST_DAY, cursor, PAGE_SIZE));
+
+        assertThat(users).hasSize(count("SELECT count(*) FROM users WHERE created_at >= '2025-01-01' "
+                + "AND created_at < '2025-01-05'"));
+        assertThat(users).extracting(UserResponse::getId).doesNotHaveDuplicates();
+        assertThat(users).isSortedAccordingTo(Comparator.comparing(UserResponse::getCreatedAt)
+                .thenComparing(UserResponse::getId));
+    }
+
+    @Test
+    void deepRolePageCostsTheSameAsTheFirst() {
+        Long deepId = jdbcTemplate.queryForObject(
+                "SELECT userId FROM users WHERE role = 'ORGANIZER' ORDER BY userId OFFSET ? LIMIT 1",
+                Long.class, SEEDED_USERS / 10 - 2 * PAGE_SIZE);
+        CapturingJdbcTemplate capturing = new CapturingJdbcTemplate(dataSource);
+        UserRepositoryImpl repository = new UserRepositoryImpl(capturing);
+
+        repository.findPageByRole(Role.ORGANIZER, null, PAGE_SIZE);
+        JsonNode first = explain(capturing);
+        repository.findPageByRole(Role.ORGANIZER, deepId, PAGE_SIZE);
+        JsonNode deep = explain(capturing);
+
+        assertSameCost("idx_users_role_user_id", first, deep);
+    }
+
+    @Test
+    void deepRegistrationPageCostsTheSameAsTheFirst() {
+        LocalDateTime start = FIRST_DAY.atStartOfDay();
+        LocalDateTime end = LAST_DAY.plusDays(1).atStartOfDay();
+        Position deepPosition = jdbcTemplate.queryForObject(
+                "SELECT created_at, userId FROM users WHERE created_at >= ? AND created_at < ? "
+                        + "ORDER BY created_at, userId OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new Position(rs.getObject(1, LocalDateTime.class), rs.getLong(2)),
+                start, end, SEEDED_USERS - 2 * PAGE_SIZE);
+        CapturingJdbcTemplate capturing = new CapturingJdbcTemplate(dataSource);
+        UserRepositoryImpl repository = new UserRepositoryImpl(capturing);
+
+        repository.findPageCreatedBetween(start, end, null, null, PAGE_SIZE);
+        JsonNode first = explain(capturing);
+        repository.findPageCreatedBetween(start, end, deepPosition.at(), deepPosition.id(), PAGE_SIZE);
+        JsonNode deep = explain(capturing);
+
+        assertSameCost("idx_users_created_at_user_id", first, deep);
+    }
+
+    // Private helper methods
+
+    private static List<UserResponse> walk(Function<String, CursorPage<UserResponse>> fetch) {
+        List<UserResponse> users = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPage<UserResponse> page = fetch.apply(cursor);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            users.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            // A cursor seen before would mean the walk never ends.
+            assertThat(cursor == null || cursors.add(cursor)).isTrue();
+        } while (cursor != null);
+        return users;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    /**
+     * Runs the statement the repository last issued again, under EXPLAIN, and returns the root plan node.
+     */
+    private JsonNode explain(CapturingJdbcTemplate capturing) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + capturing.sql,
+                String.class, capturing.args);
+        try {
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+    }
+
+    private static void assertSameCost(String index, JsonNode first, JsonNode deep) {
+        JsonNode firstScan = indexScan(first, index);
+        JsonNode deepScan = indexScan(deep, index);
+        assertThat(firstScan).as("first page scans %s", index).isNotNull();
+        assertThat(deepScan).as("deep page scans %s", index).isNotNull();
+        log.info("{}: first page read {} rows and {} buffers, deep page {} rows and {} buffers", index,
+                firstScan.get("Actual Rows").asLong(), buffers(first),
+                deepScan.get("Actual Rows").asLong(), buffers(deep));
+        // The scan starts at the cursor and stops at the limit, so nothing before the cursor is read or filtered.
+        assertThat(deepScan.get("Actual Rows").asLong()).isLessThanOrEqualTo(PAGE_SIZE);
+        assertThat(deepScan.path("Rows Removed by Filter").asLong()).isZero();
+        assertThat(buffers(deep)).isLessThanOrEqualTo(2 * buffers(first));
+    }
+
+    private static JsonNode indexScan(JsonNode node, String index) {
+        if (index.equals(node.path("Index Name").asText())) {
+            return node;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            JsonNode scan = indexScan(child, index);
+            if (scan != null) {
+                return scan;
+            }
+        }
+        return null;
+    }
+
+    private static long buffers(JsonNode node) {
+        return node.path("Shared Hit Blocks").asLong() + node.path("Shared Read Blocks").asLong();
+    }
+
+    private record Position(LocalDateTime at, Long id) {
+    }
+
+    /**
+     * Remembers the last query and its arguments, so that the test can explain exactly what the repository ran.
+     */
+    private static class CapturingJdbcTemplate extends JdbcTemplate {
+
+        private String sql;
+        private Object[] args;
+
+        CapturingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            this.sql = sql;
+            this.args = args;
+            return super.query(sql, rowMapper, args);
+        }
+    }
+}